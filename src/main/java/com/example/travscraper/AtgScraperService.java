@@ -1,25 +1,41 @@
 package com.example.travscraper;
 
+import com.example.travscraper.atg.AtgApiClient;
+import com.example.travscraper.atg.AtgGameJson;
+import com.example.travscraper.atg.AtgRace;
+import com.example.travscraper.atg.AtgStart;
+import com.example.travscraper.browser.BrowserLease;
+import com.example.travscraper.browser.BrowserPool;
+import com.example.travscraper.browser.HostThrottle;
+import com.example.travscraper.browser.PageSnapshot;
+import com.example.travscraper.browser.PreviousStartsExtractor;
+import com.example.travscraper.browser.PreviousStartsFragment;
+import com.example.travscraper.browser.ResponseCapture;
+import com.example.travscraper.browser.Startlist;
+import com.example.travscraper.browser.StartlistExtractor;
+import com.example.travscraper.browser.StartlistRow;
+import com.example.travscraper.browser.WarmTab;
+import com.example.travscraper.browser.WarmTabs;
 import com.example.travscraper.entity.FutureHorse;
 import com.example.travscraper.entity.ResultHorse;
 import com.example.travscraper.entity.ScrapedHorse;
-import com.example.travscraper.repo.FutureHorseRepo;
-import com.example.travscraper.repo.ResultHorseRepo;
-import com.example.travscraper.repo.ScrapedHorseRepo;
+import com.example.travscraper.repo.PendingWrite;
+import com.example.travscraper.repo.ResultKeyCache;
+import com.example.travscraper.repo.ScrapeCheckpoints;
 import com.example.travscraper.repo.StartListHorseRepo;
+import com.example.travscraper.repo.WriteBehind;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.AriaRole;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.microsoft.playwright.options.WaitUntilState;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -29,7 +45,10 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,6 +78,7 @@ public class AtgScraperService {
     private static final int RESULT_SCRAPE_PAUSE_SPREAD_MS = 500;
     private static final int FOREIGN_RESULT_SCRAPE_PAUSE_MIN_MS = 100;
     private static final int FOREIGN_RESULT_SCRAPE_PAUSE_SPREAD_MS = 300;
+    private static final int JSON_CAPTURE_TIMEOUT_MS = 15_000;
     private static final Pattern TRACK_LAP_PATTERN = Pattern.compile("^\\s*(.+?)\\s*-\\s*(\\d+)\\s*$");
     private static final Pattern DIGITS_ONLY = Pattern.compile("(\\d{6,8})");
     private static final Pattern RESULTAT_ROUTE_PATTERN = Pattern.compile(
@@ -110,6 +130,14 @@ public class AtgScraperService {
     private static final String DEFAULT_BANKOD = "XX";
     private static final int RESULT_BANKOD_MAX_LEN = 20;
 
+    // scrape_checkpoint (job, product) of each scraper
+    private static final String RESULTS_JOB = "results";
+    private static final String RESULTS_PRODUCT = "resultat";
+    private static final String FUTURE_JOB = "future";
+    private static final String FUTURE_PRODUCT = "startlista";
+    private static final String POPUPS_JOB = "popups";
+    private static final String POPUPS_PRODUCT = "mer-info";
+
     static {
         Map<String, String> m = new HashMap<>();
         FULLNAME_TO_BANKODE.forEach((slug, code) -> m.put(code, slug));
@@ -117,14 +145,22 @@ public class AtgScraperService {
     }
 
     private final ScraperProperties props;
-    private final ScrapedHorseRepo repo;
-    private final FutureHorseRepo futureRepo;
     private final StartListHorseRepo startListRepo;
-    private final ResultHorseRepo resultRepo;
-    private final ReentrantLock lock = new ReentrantLock();
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext ctx;
+    private final ResultKeyCache resultKeyCache;
+    private final BrowserPool browserPool;
+    private final HostThrottle hostThrottle;
+    private final WarmTabs warmTabs;
+    private final AtgGameJson atgGameJson;
+    private final AtgApiClient atgApiClient;
+    private final WriteBehind writeBehind;
+    private final ScrapeCheckpoints checkpoints;
+    private final StartlistExtractor startlistExtractor;
+    private final PreviousStartsExtractor previousStartsExtractor;
+    /** One lock per entry point: the same job never runs twice at once, different jobs may overlap. */
+    private final ReentrantLock resultLock = new ReentrantLock();
+    private final ReentrantLock foreignLock = new ReentrantLock();
+    private final ReentrantLock futureLock = new ReentrantLock();
+    private final ReentrantLock popupLock = new ReentrantLock();
 
     private static int toYyyymmdd(LocalDate d) {
         return d.getYear() * 10000 + d.getMonthValue() * 100 + d.getDayOfMonth();
@@ -591,28 +627,9 @@ public class AtgScraperService {
         return slugs;
     }
 
-    private void ensureBrowser() {
-        if (browser != null) return;
-
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(true)
-                        .setArgs(List.of("--disable-blink-features=AutomationControlled"))
-        );
-        log.info("🖥️  Headless browser launched");
-    }
-
-    @PreDestroy
-    void closeBrowser() {
-        if (ctx != null) ctx.close();
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
-
    // @Scheduled(cron = "0 55 23 * * *", zone = "Europe/Stockholm")
     public void scrape() {
-        if (!lock.tryLock()) {
+        if (!resultLock.tryLock()) {
             log.warn("⏳ Previous scrape still running – skipping");
             return;
         }
@@ -622,21 +639,24 @@ public class AtgScraperService {
             LocalDate start = Optional.ofNullable(props.getStartDateResults())
                     .orElse(end.minusDays(0));
 
+            List<TrackTarget> targets = new ArrayList<>();
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("📆  Scraping - Resultat for ROI {}", date);
-                List<String> tracks = tracksFor(date);
-                for (String track : tracks) {
-                    processDateTrack(date, track, RESULT_SCRAPE_PAUSE_MIN_MS, RESULT_SCRAPE_PAUSE_SPREAD_MS);
+                for (String track : tracksFor(date)) {
+                    targets.add(new TrackTarget(date, track));
                 }
             }
+            targets = scrapeResultsOverHttp(withCheckpointedLaps(targets, RESULTS_JOB, RESULTS_PRODUCT));
+            scrapeTracksInParallel("Resultat", targets, RESULT_SCRAPE_PAUSE_MIN_MS, RESULT_SCRAPE_PAUSE_SPREAD_MS);
         } finally {
-            lock.unlock();
+            writeBehind.flush();
+            resultLock.unlock();
         }
     }
 
    // @Scheduled(cron = "0 55 23 * * *", zone = "Europe/Stockholm")
     public void scrapeForeign() {
-        if (!lock.tryLock()) {
+        if (!foreignLock.tryLock()) {
             log.warn("⏳ Previous scrape still running – skipping");
             return;
         }
@@ -646,21 +666,98 @@ public class AtgScraperService {
             LocalDate start = Optional.ofNullable(props.getStartDateForeign())
                     .orElse(end.minusDays(0));
 
+            List<TrackTarget> targets = new ArrayList<>();
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("📆  Scraping FOREIGN RESULTS {}", date);
-                List<String> tracks = tracksForForeign(date);
-                for (String track : tracks) {
-                    processDateTrack(date, track, FOREIGN_RESULT_SCRAPE_PAUSE_MIN_MS, FOREIGN_RESULT_SCRAPE_PAUSE_SPREAD_MS);
+                for (String track : tracksForForeign(date)) {
+                    targets.add(new TrackTarget(date, track));
                 }
             }
+            targets = scrapeResultsOverHttp(withCheckpointedLaps(targets, RESULTS_JOB, RESULTS_PRODUCT));
+            scrapeTracksInParallel("Foreign resultat", targets,
+                    FOREIGN_RESULT_SCRAPE_PAUSE_MIN_MS, FOREIGN_RESULT_SCRAPE_PAUSE_SPREAD_MS);
         } finally {
-            lock.unlock();
+            writeBehind.flush();
+            foreignLock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@link #processDateTrack} for every target on a bounded set of workers. Each worker holds its own
+     * browser lease for its whole life, so no Playwright object is ever shared between threads.
+     */
+    private void scrapeTracksInParallel(String label, List<TrackTarget> targets, int pauseMinMs, int pauseSpreadMs) {
+        if (targets.isEmpty()) return;
+
+        int workers = Math.max(1, Math.min(props.getTrackConcurrency(), targets.size()));
+        Queue<TrackTarget> pending = new ConcurrentLinkedQueue<>(targets);
+        List<TrackResult> results = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("track-worker-"));
+        long started = System.nanoTime();
+
+        try {
+            List<Future<?>> running = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                running.add(executor.submit(() -> {
+                    try (BrowserLease lease = browserPool.acquire()) {
+                        TrackTarget target;
+                        while ((target = pending.poll()) != null) {
+                            results.add(scrapeTrackSafely(lease, target, pauseMinMs, pauseSpreadMs));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(label + " worker failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(label + " interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int laps = 0;
+        int horses = 0;
+        TrackResult slowest = null;
+        List<TrackResult> failed = new ArrayList<>();
+        for (TrackResult result : results) {
+            laps += result.laps();
+            horses += result.horses();
+            if (slowest == null || result.elapsedMs() > slowest.elapsedMs()) slowest = result;
+            if (result.failure() != null) failed.add(result);
+        }
+
+        log.info("📊 {}: {} track(s), {} lap(s), {} horse(s) in {} s on {} worker(s), {} failed, slowest {} {} ({} s)",
+                label, results.size(), laps, horses,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), workers, failed.size(),
+                slowest != null ? slowest.track() : "-", slowest != null ? slowest.date() : "-",
+                slowest != null ? slowest.elapsedMs() / 1000 : 0);
+
+        if (!failed.isEmpty()) {
+            TrackResult first = failed.get(0);
+            throw new IllegalStateException(label + " failed for " + first.track() + " " + first.date(), first.failure());
+        }
+    }
+
+    private TrackResult scrapeTrackSafely(BrowserLease lease, TrackTarget target, int pauseMinMs, int pauseSpreadMs) {
+        long started = System.nanoTime();
+        try {
+            return processDateTrack(lease.context(), target.date(), target.track(), target.doneLaps(),
+                    pauseMinMs, pauseSpreadMs);
+        } catch (RuntimeException e) {
+            log.error("❌ Track {} {} failed: {}", target.date(), target.track(), e.getMessage(), e);
+            if (e instanceof PlaywrightException) lease.markBroken();
+            return new TrackResult(target.date(), target.track(), 0, 0,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), e);
         }
     }
 
     //@Scheduled(cron = "0 55 23 * * *", zone = "Europe/Stockholm")
     public void scrapeFuture() {
-        if (!lock.tryLock()) {
+        if (!futureLock.tryLock()) {
             log.warn("⏳ Previous scrape still running – skipping (future)");
             return;
         }
@@ -669,7 +766,9 @@ public class AtgScraperService {
                     .orElse(LocalDate.now(ZoneId.of("Europe/Stockholm")));
             LocalDate start = Optional.ofNullable(props.getStartDateFuture())
                     .orElse(end);
+            resultKeyCache.begin(toYyyymmdd(start), toYyyymmdd(end));
 
+            List<TrackTarget> targets = new ArrayList<>();
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("📆  Scraping the FUTURE {}", date);
                 List<String> tracks = tracksFor(date);
@@ -703,160 +802,224 @@ public class AtgScraperService {
                 allTracks.addAll(hardcodedTracks);
 
                 for (String track : allTracks) {
-                    processDateTrackFuture(date, track);
+                    targets.add(new TrackTarget(date, track));
+                }
+            }
+
+            targets = scrapeFutureOverHttp(withCheckpointedLaps(targets, FUTURE_JOB, FUTURE_PRODUCT));
+            if (targets.isEmpty()) return;
+
+            try (BrowserLease lease = browserPool.acquire()) {
+                for (TrackTarget target : targets) {
+                    processDateTrackFuture(lease.context(), target.date(), target.track(), target.doneLaps());
                 }
             }
         } finally {
-            lock.unlock();
+            writeBehind.flush();
+            resultKeyCache.end();
+            futureLock.unlock();
         }
     }
 
+    /**
+     * HTTP counterpart of {@link #scrapeResultsOverHttp} for start lists: persists every lap whose vinnare
+     * game could be fetched and returns the targets the browser still has to visit.
+     */
+    private List<TrackTarget> scrapeFutureOverHttp(List<TrackTarget> targets) {
+        if (!atgApiClient.isEnabled() || targets.isEmpty()) return targets;
 
-    private void ensureContext() {
-        if (ctx != null) return;
-        ensureBrowser();
-
-        ctx = browser.newContext(
-                new Browser.NewContextOptions()
-                        .setLocale("sv-SE")
-                        .setTimezoneId("Europe/Stockholm")
-                        .setGeolocation(59.33, 18.06)
-                        .setPermissions(List.of("geolocation"))
-                        .setViewportSize(1600, 900)
-                        .setUserAgent(
-                                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                                        "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                                        "Chrome/125.0.0.0 Safari/537.36")
-        );
+        Map<LocalDate, List<TrackTarget>> targetsByDate = new LinkedHashMap<>();
+        for (TrackTarget target : targets) {
+            targetsByDate.computeIfAbsent(target.date(), d -> new ArrayList<>()).add(target);
+        }
 
-        ctx.route("**/*", route -> {
-            String resourceType = route.request().resourceType();
-            if ("image".equals(resourceType) || "media".equals(resourceType) || "font".equals(resourceType)) {
-                route.abort();
-            } else {
-                route.resume();
+        List<TrackTarget> remaining = new ArrayList<>();
+        int httpLaps = 0;
+        for (Map.Entry<LocalDate, List<TrackTarget>> entry : targetsByDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            Map<String, Map<Integer, Map<String, AtgRace>>> racesByTrack = atgApiClient.fetchRaces(date,
+                    name -> entry.getValue().stream().anyMatch(t -> sameTrack(name, t.track())),
+                    List.of("vinnare"));
+            if (racesByTrack == null) {
+                remaining.addAll(entry.getValue());
+                continue;
             }
-        });
 
-        ctx.addInitScript(""" 
-                  () => {
-                    try { Object.defineProperty(navigator, 'webdriver', { get: () => undefined }); } catch(e) {}
-                    try { Object.defineProperty(navigator, 'languages', { get: () => ['sv-SE','sv','en-US','en'] }); } catch(e) {}
-                    try { Object.defineProperty(navigator, 'plugins', { get: () => [1,2,3,4,5] }); } catch(e) {}
-
-                    const tryClick = () => {
-                      const patterns = [
-                        /Jag\\s*f(ö|o)rst(å|a)r/i,
-                        /Godk(ä|a)nn\\s+alla\\s+cookies/i,
-                        /Endast\\s+n(ö|o)dv(ä|a)ndiga/i,
-                        /Tillåt\\s+alla/i,
-                        /Avvisa/i
-                      ];
-                      try {
-                        const btn = [...document.querySelectorAll('button')]
-                          .find(b => patterns.some(rx => rx.test(b.textContent)));
-                        if (btn) btn.click();
-                      } catch (_) {}
-                    };
-                    tryClick();
-                    setTimeout(tryClick, 400);
-                    setTimeout(tryClick, 4000);
-                  }
-                """);
-    }
-
-    private void processDateTrack(LocalDate date, String track) {
-        processDateTrack(date, track, RESULT_SCRAPE_PAUSE_MIN_MS, RESULT_SCRAPE_PAUSE_SPREAD_MS);
-    }
-
-    private void processDateTrack(LocalDate date, String track, int pauseMinMs, int pauseSpreadMs) {
-        ensureContext();
+            for (TrackTarget target : entry.getValue()) {
+                Map<Integer, Map<String, AtgRace>> races = racesByTrack.entrySet().stream()
+                        .filter(e -> sameTrack(e.getKey(), target.track()))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+                if (races == null || races.isEmpty()) {
+                    remaining.add(target);
+                    continue;
+                }
 
-        int consecutiveMisses = 0;
-        Page.NavigateOptions nav = new Page.NavigateOptions()
-                .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
-                .setTimeout(70_000);
-        String dateSlug = date.format(URL_DATE_FORMAT);
+                Set<Integer> done = new HashSet<>(target.doneLaps());
+                for (Map.Entry<Integer, Map<String, AtgRace>> lap : races.entrySet()) {
+                    if (done.contains(lap.getKey())) continue;
+                    AtgRace race = lap.getValue().get("vinnare");
+                    if (race == null || race.starts().isEmpty()) continue;
+                    if (!race.isCancelled()) persistFuture(futureStarts(race), date, target.track(), lap.getKey());
+                    done.add(lap.getKey());
+                }
+                httpLaps += done.size() - target.doneLaps().size();
+
+                if (!done.containsAll(races.keySet())) {
+                    remaining.add(new TrackTarget(date, target.track(), done));
+                }
+            }
+        }
 
-        for (int lap = 1; lap <= 15; lap++) {
+        log.info("🛰️  {} future lap(s) persisted over HTTP, {} of {} track(s) left for the browser",
+                httpLaps, remaining.size(), targets.size());
+        return remaining;
+    }
 
-            String base = "https://www.atg.se/spel/%s/%s/%s/lopp/%d/resultat";
-            String vUrl = String.format(base, dateSlug, "vinnare", track, lap);
-            String pUrl = String.format(base, dateSlug, "plats", track, lap);
-            String tUrl = String.format(base, dateSlug, "trio", track, lap);
-            String tvillingUrl = String.format(base, dateSlug, "tvilling", track, lap);
-            try (Page vPage = ctx.newPage()) {
-                vPage.navigate(vUrl, nav);
 
-                if (vPage.url().contains("/spel/kalender/")) {
-                    log.info("🔸 Lap {} not found for track {} on {}, redirected to calendar, skipping", lap, track, date);
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+    private TrackResult processDateTrack(BrowserContext ctx, LocalDate date, String track, Set<Integer> doneLaps,
+                                         int pauseMinMs, int pauseSpreadMs) {
+        long started = System.nanoTime();
+        int lapsScraped = 0;
+        int horsesSaved = 0;
+        int consecutiveMisses = 0;
+        String dateSlug = date.format(URL_DATE_FORMAT);
 
-                if (isUnexpectedResultRoute(vPage.url(), date, lap, track, "vinnare")) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+        // One tab per product for the whole track. The trio/tvilling result panels look alike for every lap,
+        // so a stale panel cannot be told from a fresh one after an in-app move; those tabs always reload fully.
+        try (WarmTab vTab = warmTabs.newTab(ctx);
+             WarmTab pTab = warmTabs.newTab(ctx);
+             WarmTab tTab = warmTabs.newColdTab(ctx);
+             WarmTab tvillingTab = warmTabs.newColdTab(ctx)) {
 
-                ResultatRoute validatedRoute = parseResultatRoute(vPage.url());
-                if (validatedRoute == null) {
-                    if (++consecutiveMisses >= 2) break;
+            for (int lap = 1; lap <= 15; lap++) {
+                if (doneLaps.contains(lap)) {
+                    consecutiveMisses = 0;
                     continue;
                 }
 
-                ElementHandle first;
+                String base = "https://www.atg.se/spel/%s/%s/%s/lopp/%d/resultat";
+                String vUrl = String.format(base, dateSlug, "vinnare", track, lap);
+                String pUrl = String.format(base, dateSlug, "plats", track, lap);
+                String tUrl = String.format(base, dateSlug, "trio", track, lap);
+                String tvillingUrl = String.format(base, dateSlug, "tvilling", track, lap);
                 try {
-                    first = vPage.waitForSelector(
-                            "button:has-text(\"Tillåt alla\"):visible, " +
-                                    "button:has-text(\"Avvisa\"):visible, " +
-                                    "tr[data-test-id^=horse-row]",
-                            new Page.WaitForSelectorOptions().setTimeout(75_000));
-                } catch (PlaywrightException e) {
-                    if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
+                    Page vPage;
+                    Page pPage;
+                    Page tPage;
+                    Page tvillingPage;
+                    Map<Page, String> products = new LinkedHashMap<>();
+                    Integer savedFromJson;
+                    Page first = null;
+                    // All four products load in the browser at the same time. The navigations return at commit,
+                    // so the host permits are held until a page has resolved, not just until the navigations return.
+                    try (HostThrottle.Permit loads = hostThrottle.acquire(vUrl, 4)) {
+                        vPage = vTab.navigate(vUrl, commitNavigation(), loads);
+                        pPage = pTab.navigate(pUrl, commitNavigation(), loads);
+                        tPage = tTab.navigate(tUrl, commitNavigation(), loads);
+                        tvillingPage = tvillingTab.navigate(tvillingUrl, commitNavigation(), loads);
+
+                        products.put(vPage, "vinnare");
+                        products.put(pPage, "plats");
+                        products.put(tPage, "trio");
+                        products.put(tvillingPage, "tvilling");
+
+                        savedFromJson = persistResultLapFromJson(vTab, pTab, tTab, tvillingTab, date, track, lap);
+                        if (savedFromJson == null) {
+                            first = awaitFirstResolved(List.copyOf(products.keySet()), 75_000);
+                        }
+                    }
+                    if (savedFromJson != null) {
+                        consecutiveMisses = 0;
+                        horsesSaved += savedFromJson;
+                        lapsScraped++;
+                        pauseBetweenLaps(pauseMinMs, pauseSpreadMs);
+                        continue;
+                    }
+
+                    if (first == null) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
                         log.info("⏩ Lap {} saknas för {} {}, hoppar vidare", lap, track, date);
                         if (++consecutiveMisses >= 2) break;
                         continue;
                     }
-                    throw e;
-                }
 
-                if ("BUTTON".equalsIgnoreCase(first.evaluate("e => e.tagName").toString())) {
-                    first.click();
-                    vPage.waitForSelector("tr[data-test-id^=horse-row]",
-                            new Page.WaitForSelectorOptions().setTimeout(75_000));
-                }
+                    if (first.url().contains("/spel/kalender/")) {
+                        log.info("🔸 Lap {} not found for track {} on {}, redirected to calendar, skipping", lap, track, date);
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                if (isCancelledRace(vPage)) {
-                    log.info("🔸 Lap {} on {} {} is cancelled, skipping", lap, date, track);
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    if (isUnexpectedResultRoute(first.url(), date, lap, track, products.get(first))) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                if (!isCorrectTrack(vPage, track, date)) return;
-                if (!isCorrectLap(vPage, lap, track, date)) {
-                    log.info("🔸 Lap {} missing on {} {}, continuing", lap, date, track);
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    dismissCookiesIfPresent(first);
 
-                try (Page pPage = ctx.newPage();
-                     Page tPage = ctx.newPage();
-                     Page tvillingPage = ctx.newPage()) {
-                    pPage.navigate(pUrl, nav);
-                    tPage.navigate(tUrl, nav);
-                    tvillingPage.navigate(tvillingUrl, nav);
+                    PageSnapshot firstSnap = PageSnapshot.of(first);
+                    if (isCancelledRace(firstSnap.document())) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
+                        log.info("🔸 Lap {} on {} {} is cancelled, skipping", lap, date, track);
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                    if (isUnexpectedResultRoute(pPage.url(), date, lap, track, "plats") ||
+                    if (!isCorrectTrack(firstSnap.document(), track, date)) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
+                        break;
+                    }
+                    if (!isCorrectLap(firstSnap.document(), lap, track, date)) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
+                        log.info("🔸 Lap {} missing on {} {}, continuing", lap, date, track);
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
+
+                    vPage.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                            new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    vTab.ready();
+                    awaitLoaded(pPage);
+                    awaitLoaded(tPage);
+                    awaitLoaded(tvillingPage);
+
+                    ResultatRoute validatedRoute = parseResultatRoute(vPage.url());
+                    if (validatedRoute == null ||
+                            isUnexpectedResultRoute(vPage.url(), date, lap, track, "vinnare") ||
+                            isUnexpectedResultRoute(pPage.url(), date, lap, track, "plats") ||
                             isUnexpectedResultRoute(tPage.url(), date, lap, track, "trio") ||
                             isUnexpectedResultRoute(tvillingPage.url(), date, lap, track, "tvilling")) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
                         if (++consecutiveMisses >= 2) break;
                         continue;
                     }
 
-                    if (!isCorrectLap(pPage, lap, track, date) ||
-                            !isCorrectLap(tPage, lap, track, date) ||
-                            !isCorrectLap(tvillingPage, lap, track, date)) {
+                    pPage.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                            new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    pTab.ready();
+
+                    waitForCombinationOdds(tPage);
+                    tTab.ready();
+                    waitForCombinationOdds(tvillingPage);
+                    tvillingTab.ready();
+
+                    // Every product is rendered now: read the startlists in the browser, and serialise and parse
+                    // the combination pages exactly once.
+                    List<PageSnapshot> snapshots = new ArrayList<>(List.of(firstSnap));
+                    Startlist vRows = startlist(vPage, snapshots);
+                    Startlist pRows = startlist(pPage, snapshots);
+                    PageSnapshot tSnap = PageSnapshot.of(tPage);
+                    PageSnapshot tvillingSnap = PageSnapshot.of(tvillingPage);
+                    snapshots.add(tSnap);
+                    snapshots.add(tvillingSnap);
+
+                    if (!isCorrectLap(vRows.selectedLap(), lap, track, date) ||
+                            !isCorrectLap(pRows.selectedLap(), lap, track, date) ||
+                            !isCorrectLap(tSnap.document(), lap, track, date) ||
+                            !isCorrectLap(tvillingSnap.document(), lap, track, date)) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
                         log.info("🔸 Lap {} missing on {} {}, continuing", lap, date, track);
                         if (++consecutiveMisses >= 2) break;
                         continue;
@@ -864,124 +1027,340 @@ public class AtgScraperService {
 
                     consecutiveMisses = 0;
 
-                    pPage.waitForSelector("tr[data-test-id^=horse-row]",
-                            new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    Map<String, String> pMap = placeOddsByNumber(pRows);
+                    Map<String, String> trioMap = extractCombinationOddsMap(tSnap.document());
+                    Map<String, String> tvillingMap = extractCombinationOddsMap(tvillingSnap.document());
 
-                    waitForCombinationOdds(tPage);
-                    waitForCombinationOdds(tvillingPage);
+                    horsesSaved += persistResults(resultStarts(vRows), date, validatedRoute.trackSlug(), lap,
+                            pMap, trioMap, tvillingMap);
+                    lapsScraped++;
+                    log.info("📸 {} {} lap {}: {}", date, track, lap, PageSnapshot.summary(snapshots));
+
+                    pauseBetweenLaps(pauseMinMs, pauseSpreadMs);
+                } catch (PlaywrightException e) {
+                    log.warn("⚠️  Playwright-fel på {}: {}", vUrl, e.getMessage());
+                    if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
+                        if (WarmTab.fallBackIfInApp(vTab, pTab)) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
+                    break;
+                }
+            }
+        }
+
+        return new TrackResult(date, track, lapsScraped, horsesSaved,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), null);
+    }
+
+    private static void pauseBetweenLaps(int pauseMinMs, int pauseSpreadMs) {
+        try {
+            Thread.sleep(pauseMinMs + (int) (Math.random() * pauseSpreadMs));
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    /**
+     * Persists a result lap straight from the captured racing-info JSON of the four product tabs. Returns
+     * null when JSON capture is off or any product's payload is missing or incomplete; the caller then
+     * validates and parses the rendered pages as usual.
+     */
+    private Integer persistResultLapFromJson(WarmTab vTab, WarmTab pTab, WarmTab tTab, WarmTab tvillingTab,
+                                             LocalDate date, String track, int lap) {
+        if (!props.isJsonCapture()) return null;
+
+        AtgRace vRace = capturedRace(vTab, "vinnare", date, track, lap);
+        if (!hasResult(vRace)) return null;
+
+        Integer saved = persistResultLap(vRace,
+                capturedRace(pTab, "plats", date, track, lap),
+                capturedRace(tTab, "trio", date, track, lap),
+                capturedRace(tvillingTab, "tvilling", date, track, lap),
+                date, track, lap);
+        if (saved == null) {
+            log.info("🛰️  Incomplete racing-info JSON for {} {} lap {}, reading the page instead", date, track, lap);
+            return null;
+        }
+
+        vTab.ready();
+        pTab.ready();
+        tTab.ready();
+        tvillingTab.ready();
+        return saved;
+    }
+
+    private static boolean hasResult(AtgRace race) {
+        return race != null && race.starts().stream().anyMatch(s -> !s.placement().isEmpty());
+    }
+
+    /**
+     * Persists one result lap from the four products' races, or returns null when any of them is missing
+     * or has no result yet.
+     */
+    private Integer persistResultLap(AtgRace vRace, AtgRace pRace, AtgRace tRace, AtgRace tvillingRace,
+                                     LocalDate date, String track, int lap) {
+        if (!hasResult(vRace) || pRace == null || tRace == null || tvillingRace == null
+                || tRace.combinationOdds() == null || tvillingRace.combinationOdds() == null) {
+            return null;
+        }
+
+        Map<String, String> pMap = new HashMap<>();
+        for (AtgStart start : pRace.starts()) pMap.put(start.number(), start.odds());
+
+        List<AtgStart> starts = vRace.starts().stream().filter(s -> !s.scratched()).toList();
+        return persistResults(starts, date, track, lap, pMap,
+                tRace.combinationOddsByNumber(), tvillingRace.combinationOddsByNumber());
+    }
+
+    /**
+     * Fetches and persists every lap of the targets over plain HTTP when {@code scraper.fetch-mode=http}.
+     * Returns what is left for the browser: targets with at least one lap that could not be completed,
+     * carrying the laps that were.
+     */
+    private List<TrackTarget> scrapeResultsOverHttp(List<TrackTarget> targets) {
+        if (!atgApiClient.isEnabled() || targets.isEmpty()) return targets;
 
-                    Map<String, String> pMap = extractOddsMap(pPage, "[data-test-id=startlist-cell-podds]");
-                    Map<String, String> trioMap = extractCombinationOddsMap(tPage);
-                    Map<String, String> tvillingMap = extractCombinationOddsMap(tvillingPage);
+        Map<LocalDate, List<TrackTarget>> targetsByDate = new LinkedHashMap<>();
+        for (TrackTarget target : targets) {
+            targetsByDate.computeIfAbsent(target.date(), d -> new ArrayList<>()).add(target);
+        }
+
+        List<TrackTarget> remaining = new ArrayList<>();
+        int httpLaps = 0;
+        for (Map.Entry<LocalDate, List<TrackTarget>> entry : targetsByDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            Map<String, Map<Integer, Map<String, AtgRace>>> racesByTrack = atgApiClient.fetchRaces(date,
+                    name -> entry.getValue().stream().anyMatch(t -> sameTrack(name, t.track())),
+                    List.of("vinnare", "plats", "trio", "tvilling"));
+            if (racesByTrack == null) {
+                remaining.addAll(entry.getValue());
+                continue;
+            }
 
-                    parseAndPersist(vPage.content(), date, validatedRoute.trackSlug(), lap, pMap, trioMap, tvillingMap);
+            for (TrackTarget target : entry.getValue()) {
+                Map<Integer, Map<String, AtgRace>> races = racesByTrack.entrySet().stream()
+                        .filter(e -> sameTrack(e.getKey(), target.track()))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+                if (races == null || races.isEmpty()) {
+                    remaining.add(target);
+                    continue;
                 }
-                try {
-                    Thread.sleep(pauseMinMs + (int) (Math.random() * pauseSpreadMs));
-                } catch (InterruptedException ignored) {
+
+                Set<Integer> done = new HashSet<>(target.doneLaps());
+                for (Map.Entry<Integer, Map<String, AtgRace>> lap : races.entrySet()) {
+                    if (done.contains(lap.getKey())) continue;
+                    Map<String, AtgRace> products = lap.getValue();
+                    if (products.get("vinnare") != null && products.get("vinnare").isCancelled()) {
+                        done.add(lap.getKey());
+                        continue;
+                    }
+                    Integer saved = persistResultLap(products.get("vinnare"), products.get("plats"),
+                            products.get("trio"), products.get("tvilling"), date, target.track(), lap.getKey());
+                    if (saved != null) done.add(lap.getKey());
                 }
-            } catch (PlaywrightException e) {
-                log.warn("⚠️  Playwright-fel på {}: {}", vUrl, e.getMessage());
-                if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
+                httpLaps += done.size() - target.doneLaps().size();
+
+                if (!done.containsAll(races.keySet())) {
+                    remaining.add(new TrackTarget(date, target.track(), done));
                 }
-                break;
             }
         }
+
+        log.info("🛰️  {} result lap(s) persisted over HTTP, {} of {} track(s) left for the browser",
+                httpLaps, remaining.size(), targets.size());
+        return remaining;
     }
 
-    private void processDateTrackFuture(LocalDate date, String track) {
-        ensureContext();
+    /**
+     * With {@code scraper.resume}, adds the laps an earlier run checkpointed to each target's doneLaps, so neither
+     * HTTP nor the browser fetches them again.
+     */
+    private List<TrackTarget> withCheckpointedLaps(List<TrackTarget> targets, String job, String product) {
+        if (!props.isResume()) return targets;
 
-        int consecutiveMisses = 0;
+        List<TrackTarget> resumed = new ArrayList<>(targets.size());
+        int skipped = 0;
+        for (TrackTarget target : targets) {
+            Set<Integer> done = new HashSet<>(target.doneLaps());
+            done.addAll(checkpoints.doneLaps(job, target.date(), checkpointTrack(target.track()), product));
+            skipped += done.size() - target.doneLaps().size();
+            resumed.add(new TrackTarget(target.date(), target.track(), done));
+        }
+        log.info("▶️  {}: {} lap(s) already done in an earlier run, skipping them", job, skipped);
+        return resumed;
+    }
+
+    /** Checkpoints are keyed on bankod, so a track reached under another slug still finds its laps. */
+    private static String checkpointTrack(String track) {
+        String bankod = toKnownBankodOrNull(track);
+        return bankod != null ? bankod : trackKey(track);
+    }
 
-        for (int lap = 1; lap <= 15; lap++) {
+    private static boolean sameTrack(String trackName, String trackSlug) {
+        return trackKey(trackName).equals(trackKey(trackSlug))
+                || (toKnownBankodOrNull(trackName) != null
+                && Objects.equals(toKnownBankodOrNull(trackName), toKnownBankodOrNull(trackSlug)));
+    }
 
-            String url = String.format(
-                    "https://www.atg.se/spel/%s/vinnare/%s/lopp/%d",
-                    date.format(URL_DATE_FORMAT), track, lap);
+    /**
+     * The lap's race from the racing-info JSON a tab has captured, or null when capture is off, nothing
+     * matching arrived in time, the race is cancelled, or it belongs to another track.
+     */
+    private AtgRace capturedRace(WarmTab tab, String product, LocalDate date, String track, int lap) {
+        ResponseCapture responses = tab.responses();
+        if (responses == null) return null;
 
-            try (Page page = ctx.newPage()) {
+        AtgRace race = responses.await(url -> url.contains("/games/") || url.contains("/races/"),
+                body -> atgGameJson.race(body, product, date, lap), JSON_CAPTURE_TIMEOUT_MS);
+        if (race == null || race.starts().isEmpty() || race.isCancelled()) return null;
+        return sameTrack(race.trackName(), track) ? race : null;
+    }
 
-                Page.NavigateOptions nav = new Page.NavigateOptions()
-                        .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
-                        .setTimeout(75_000);
+    /**
+     * A page load that returns as soon as the server has answered, leaving the rest of the load
+     * (SPA bundle, XHR) to run in the browser while the caller starts the next page.
+     */
+    private static Page.NavigateOptions commitNavigation() {
+        return new Page.NavigateOptions()
+                .setWaitUntil(WaitUntilState.COMMIT)
+                .setTimeout(70_000);
+    }
 
-                page.navigate(url, nav);
+    private void awaitLoaded(Page page) {
+        page.waitForLoadState(LoadState.DOMCONTENTLOADED,
+                new Page.WaitForLoadStateOptions().setTimeout(70_000));
+    }
+
+    /**
+     * Returns the first page that has either rendered result content or been bounced to the calendar,
+     * or null when none of them got there within the timeout.
+     */
+    private Page awaitFirstResolved(List<Page> pages, int timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            for (Page page : pages) {
+                if (page.url().contains("/spel/kalender/")) return page;
+                Locator ready = page.locator(WarmTab.FRESH_HORSE_ROWS).or(page.locator("text=\"Odds:\""));
+                if (ready.count() > 0) return page;
+            }
+            if (System.currentTimeMillis() >= deadline) return null;
+            pages.get(0).waitForTimeout(150);
+        }
+    }
+
+    private void processDateTrackFuture(BrowserContext ctx, LocalDate date, String track, Set<Integer> doneLaps) {
+
+        int consecutiveMisses = 0;
 
-                if (page.url().contains("/spel/kalender/")) {
-                    log.info("🔸 Lap {} not found for track {} on {}, redirected to calendar, skipping (future)", lap, track, date);
-                    if (++consecutiveMisses >= 2) break;
+        try (WarmTab tab = warmTabs.newTab(ctx)) {
+            for (int lap = 1; lap <= 15; lap++) {
+                if (doneLaps.contains(lap)) {
+                    consecutiveMisses = 0;
                     continue;
                 }
 
+                String url = String.format(
+                        "https://www.atg.se/spel/%s/vinnare/%s/lopp/%d",
+                        date.format(URL_DATE_FORMAT), track, lap);
+
                 try {
-                    ElementHandle first = page.waitForSelector(
-                            "button:has-text(\"Tillåt alla\"):visible, " +
-                                    "button:has-text(\"Avvisa\"):visible, " +
-                                    "tr[data-test-id^=horse-row]",
-                            new Page.WaitForSelectorOptions().setTimeout(75_000));
-                    if ("BUTTON".equalsIgnoreCase(first.evaluate("e => e.tagName").toString())) {
-                        first.click();
-                        page.waitForSelector("tr[data-test-id^=horse-row]",
+                    Page.NavigateOptions nav = new Page.NavigateOptions()
+                            .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                            .setTimeout(75_000);
+
+                    Page page = tab.navigate(url, nav);
+
+                    if (page.url().contains("/spel/kalender/")) {
+                        log.info("🔸 Lap {} not found for track {} on {}, redirected to calendar, skipping (future)", lap, track, date);
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
+
+                    AtgRace race = capturedRace(tab, "vinnare", date, track, lap);
+                    if (race != null) {
+                        tab.ready();
+                        consecutiveMisses = 0;
+                        persistFuture(futureStarts(race), date, track, lap);
+                        pauseBetweenLaps(600, 1200);
+                        continue;
+                    }
+
+                    try {
+                        ElementHandle first = page.waitForSelector(
+                                "button:has-text(\"Tillåt alla\"):visible, " +
+                                        "button:has-text(\"Avvisa\"):visible, " +
+                                        WarmTab.FRESH_HORSE_ROWS,
                                 new Page.WaitForSelectorOptions().setTimeout(75_000));
+                        if ("BUTTON".equalsIgnoreCase(first.evaluate("e => e.tagName").toString())) {
+                            first.click();
+                            page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                                    new Page.WaitForSelectorOptions().setTimeout(75_000));
+                        }
+                        tab.ready();
+                    } catch (PlaywrightException e) {
+                        if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
+                            if (tab.fallBackIfInApp()) { lap--; continue; }
+                            log.info("⏩ Lap {} saknas för {} {} (future), hoppar vidare", lap, track, date);
+                            if (++consecutiveMisses >= 2) break;
+                            continue;
+                        }
+                        throw e;
                     }
-                } catch (PlaywrightException e) {
-                    if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
-                        log.info("⏩ Lap {} saknas för {} {} (future), hoppar vidare", lap, track, date);
+
+                    List<PageSnapshot> snapshots = new ArrayList<>();
+                    Startlist startlist = startlist(page, snapshots);
+                    if (startlist.cancelled()) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        log.info("🔸 Lap {} on {} {} is cancelled (future), skipping", lap, date, track);
                         if (++consecutiveMisses >= 2) break;
                         continue;
                     }
-                    throw e;
-                }
 
-                if (isCancelledRace(page)) {
-                    log.info("🔸 Lap {} on {} {} is cancelled (future), skipping", lap, date, track);
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
-
-                String effectiveTrack = resolveEffectiveTrackSlugStrict(page, date, lap, track);
-                if (effectiveTrack == null) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    String effectiveTrack = resolveEffectiveTrackSlugStrict(page, date, lap, track);
+                    if (effectiveTrack == null) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                if (!isCorrectLap(page, lap, effectiveTrack, date)) {
-                    log.info("🔸 Lap {} missing on {} {} (future), continuing", lap, date, effectiveTrack);
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    if (!isCorrectLap(startlist.selectedLap(), lap, effectiveTrack, date)) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        log.info("🔸 Lap {} missing on {} {} (future), continuing", lap, date, effectiveTrack);
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                consecutiveMisses = 0;
+                    consecutiveMisses = 0;
 
-                parseAndPersistFuture(page.content(), date, effectiveTrack, lap);
+                    persistFuture(futureStarts(startlist, date, effectiveTrack, lap), date, effectiveTrack, lap);
+                    if (!snapshots.isEmpty()) {
+                        log.info("📸 {} {} lap {} (future): {}", date, effectiveTrack, lap, PageSnapshot.summary(snapshots));
+                    }
 
-                try {
-                    Thread.sleep(600 + (int) (Math.random() * 1200));
-                } catch (InterruptedException ignored) {
-                }
-            } catch (PlaywrightException e) {
-                log.warn("⚠️  Playwright-fel på {}: {}", url, e.getMessage());
-                if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
+                    pauseBetweenLaps(600, 1200);
+                } catch (PlaywrightException e) {
+                    log.warn("⚠️  Playwright-fel på {}: {}", url, e.getMessage());
+                    if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
+                    break;
                 }
-                break;
             }
         }
     }
 
 
 
-    private boolean isCancelledRace(Page page) {
-        return Jsoup.parse(page.content())
-                .selectFirst("span[class*=cancelledRace], span:matchesOwn(Inställt\\,?\\s+insatser)") != null;
+    private boolean isCancelledRace(Document doc) {
+        return doc.selectFirst(StartlistExtractor.CANCELLED_SELECTOR) != null;
     }
 
-    private boolean isCorrectTrack(Page page, String expected, LocalDate date) {
-        Element active = Jsoup.parse(page.content())
+    private boolean isCorrectTrack(Document doc, String expected, LocalDate date) {
+        Element active = doc
                 .selectFirst("span[data-test-id^=calendar-menu-track-][data-test-active=true]");
         if (active == null) return true;
 
@@ -994,11 +1373,13 @@ public class AtgScraperService {
     }
 
 
-    private boolean isCorrectLap(Page page, int expected, String track, LocalDate date) {
-        Document doc = Jsoup.parse(page.content());
-        Element sel = doc.selectFirst("[data-test-selected=true]");
-        if (sel == null) return true;
-        String current = sel.text().trim();
+    private boolean isCorrectLap(Document doc, int expected, String track, LocalDate date) {
+        Element sel = doc.selectFirst(StartlistExtractor.SELECTED_LAP_SELECTOR);
+        return isCorrectLap(sel != null ? sel.text().trim() : null, expected, track, date);
+    }
+
+    private boolean isCorrectLap(String current, int expected, String track, LocalDate date) {
+        if (current == null) return true;
         if (!current.equals(String.valueOf(expected))) {
             log.info("↪️  lap {} not present on {} {} (page shows {}), skipping rest of laps", expected, date, track, current);
             return false;
@@ -1009,6 +1390,73 @@ public class AtgScraperService {
     private record ResultatRoute(LocalDate date, String product, String trackSlug, int lap) {
     }
 
+    /**
+     * A track to scrape on one date; {@code doneLaps} were already persisted (over HTTP, or by an earlier run when
+     * resuming) and are skipped.
+     */
+    private record TrackTarget(LocalDate date, String track, Set<Integer> doneLaps) {
+        TrackTarget(LocalDate date, String track) {
+            this(date, track, Set.of());
+        }
+    }
+
+    /**
+     * The previous starts read from one lap's "Mer info" panels. Horses may be parsed on {@code popupParser}
+     * threads; whoever finishes last submits the lap as one batch with its checkpoint, or without a checkpoint
+     * when some panel could not be read, so a resumed run visits the lap again.
+     */
+    private final class PopupLap {
+        private final ScrapeCheckpoints.Key key;
+        private final List<ResultHorse> rows = new ArrayList<>();
+        /** Parse tasks still running, plus one for the browser thread until it leaves the lap. */
+        private final AtomicInteger open = new AtomicInteger(1);
+        private volatile boolean incomplete;
+
+        PopupLap(LocalDate date, String track, int lap) {
+            this.key = new ScrapeCheckpoints.Key(POPUPS_JOB, date, checkpointTrack(track), lap, POPUPS_PRODUCT);
+        }
+
+        void add(List<ResultHorse> horseRows) {
+            synchronized (rows) {
+                rows.addAll(horseRows);
+            }
+        }
+
+        void markIncomplete() {
+            incomplete = true;
+        }
+
+        void fork() {
+            open.incrementAndGet();
+        }
+
+        void join() {
+            if (open.decrementAndGet() > 0) return;
+
+            List<ResultHorse> lapRows;
+            synchronized (rows) {
+                lapRows = List.copyOf(rows);
+            }
+            PendingWrite write = new PendingWrite.PreviousStarts(lapRows);
+            if (incomplete) {
+                writeBehind.submit(write);
+            } else {
+                long hash = ScrapeCheckpoints.hash(lapRows, rh -> Arrays.asList(rh.getDatum(), rh.getBankod(),
+                        rh.getLopp(), rh.getNamn(), rh.getDistans(), rh.getSpar(), rh.getPlacering(), rh.getTid(),
+                        rh.getStartmetod(), rh.getGalopp(), rh.getUnderlag(), rh.getPris(), rh.getOdds(), rh.getKusk()));
+                writeBehind.submit(new PendingWrite.Checkpointed(write, key, hash));
+            }
+            if (!lapRows.isEmpty()) {
+                log.info("💾 (resultat - POPUP) Köade {} rader från 'Mer info' (nr=keep/default0) på {} {} lopp {}",
+                        lapRows.size(), key.date(), key.track(), key.lap());
+            }
+        }
+    }
+
+    private record TrackResult(LocalDate date, String track, int laps, int horses, long elapsedMs,
+                               RuntimeException failure) {
+    }
+
     private ResultatRoute parseResultatRoute(String url) {
         if (url == null || url.isBlank()) return null;
         Matcher m = RESULTAT_ROUTE_PATTERN.matcher(url);
@@ -1048,14 +1496,31 @@ public class AtgScraperService {
         return unexpected;
     }
 
-    private Map<String, String> extractOddsMap(Page page, String oddsSelector) {
+    /**
+     * The startlist of a rendered lap page, read in the browser by one script unless that is switched off or
+     * fails; then (and for the parity check) from a snapshot, which is added to {@code snapshots}.
+     */
+    private Startlist startlist(Page page, List<PageSnapshot> snapshots) {
+        Startlist fromScript = props.isScriptRowExtraction() ? startlistExtractor.evaluate(page) : null;
+        if (fromScript != null && !props.isRowExtractionParityCheck()) return fromScript;
+
+        PageSnapshot snapshot = PageSnapshot.of(page);
+        snapshots.add(snapshot);
+        Startlist fromDom = startlistExtractor.read(snapshot.document());
+        if (fromScript == null) return fromDom;
+
+        String difference = StartlistExtractor.firstDifference(fromScript, fromDom);
+        if (difference == null) return fromScript;
+        log.warn("📋 Startlist script disagrees with Jsoup on {}: {}", page.url(), difference);
+        return fromDom;
+    }
+
+    private static Map<String, String> placeOddsByNumber(Startlist startlist) {
         Map<String, String> map = new HashMap<>();
-        for (Element tr : Jsoup.parse(page.content()).select("tr[data-test-id^=horse-row]")) {
-            Element split = tr.selectFirst("[startlist-export-id^=startlist-cell-horse-split-export]");
-            Element odds = tr.selectFirst(oddsSelector);
-            if (split == null || odds == null) continue;
-            String nr = split.text().trim().split("\\s+", 2)[0];
-            map.put(nr, odds.text().trim());
+        for (StartlistRow row : startlist.rows()) {
+            if (!row.horseRow() || row.horse() == null || row.pOdds() == null) continue;
+            String nr = row.horse().split("\\s+", 2)[0];
+            map.put(nr, row.pOdds());
         }
         return map;
     }
@@ -1067,9 +1532,8 @@ public class AtgScraperService {
                         .setState(WaitForSelectorState.ATTACHED));
     }
 
-    private Map<String, String> extractCombinationOddsMap(Page page) {
+    private Map<String, String> extractCombinationOddsMap(Document doc) {
         Map<String, String> map = new HashMap<>();
-        Document doc = Jsoup.parse(page.content());
 
         Element comboLabel = doc.selectFirst("span:matchesOwn((?iu)^\\s*(?:Rätt\\s+)?kombination:?)");
         Element oddsLabel = doc.selectFirst("span:matchesOwn((?iu)^\\s*Odds:?)");
@@ -1093,81 +1557,64 @@ public class AtgScraperService {
         return value != null ? value.text().trim() : "";
     }
 
-    private void parseAndPersist(String html, LocalDate date, String track, int lap,
-                                 Map<String, String> pMap, Map<String, String> trioMap,
-                                 Map<String, String> tvillingMap) {
+    private static List<AtgStart> resultStarts(Startlist startlist) {
+        List<AtgStart> starts = new ArrayList<>(startlist.rows().size());
+        for (StartlistRow row : startlist.rows()) {
+            if (!row.horseRow() || row.placement() == null || row.horse() == null || row.vOdds() == null) continue;
+
+            String[] parts = row.horse().split("\\s+", 2);
+            String nr = parts.length > 0 ? parts[0] : "";
+            String name = parts.length > 1 ? parts[1] : "";
+
+            starts.add(new AtgStart(nr, name, "", row.placement(), row.vOdds(), null, null, false));
+        }
+        return starts;
+    }
 
-        Elements rows = Jsoup.parse(html).select("tr[data-test-id^=horse-row]");
-        if (rows.isEmpty()) return;
+    int persistResults(List<AtgStart> starts, LocalDate date, String track, int lap,
+                       Map<String, String> pMap, Map<String, String> trioMap,
+                       Map<String, String> tvillingMap) {
+        if (starts.isEmpty()) return 0;
 
         String bankode = toKnownBankodOrNull(track);
         if (bankode == null) {
             log.warn("⚠️  Okänd bana '{}' -> skippar RESULTS (ScrapedHorse) helt", track);
-            return;
+            return 0;
         }
 
+        // One batched upsert per lap: the key is assigned, so saveAll would merge (SELECT) every horse first.
         String lapValue = String.valueOf(lap);
-        Map<String, ScrapedHorse> existingByNumber = new HashMap<>();
-        for (ScrapedHorse existing : repo.findByDateAndTrackAndLap(date, bankode, lapValue)) {
-            existingByNumber.put(existing.getNumberOfHorse(), existing);
-        }
-
-        List<ScrapedHorse> horsesToSave = new ArrayList<>(rows.size());
+        List<ScrapedHorse> horsesToSave = new ArrayList<>(starts.size());
 
-        for (Element tr : rows) {
-            Element place = tr.selectFirst("[data-test-id=horse-placement]");
-            Element split = tr.selectFirst("[startlist-export-id^=startlist-cell-horse-split-export]");
-            Element vOdd = tr.selectFirst("[data-test-id=startlist-cell-vodds]");
-            if (place == null || split == null || vOdd == null) continue;
-
-            String[] parts = split.text().trim().split("\\s+", 2);
-            String nr = parts.length > 0 ? parts[0] : "";
-            String name = parts.length > 1 ? parts[1] : "";
-
-            String normalizedName = normalizeHorseNameSimple(name);
-
-            ScrapedHorse horse = existingByNumber.get(nr);
-            if (horse != null) {
-                horse.setNameOfHorse(normalizedName);
-                horse.setPlacement(place.text().trim());
-                horse.setVOdds(vOdd.text().trim());
-                horse.setPOdds(pMap.getOrDefault(nr, ""));
-                horse.setTrioOdds(trioMap.getOrDefault(nr, ""));
-                horse.setTvillingOdds(tvillingMap.getOrDefault(nr, ""));
-            } else {
-                horse = ScrapedHorse.builder()
-                        .date(date).track(bankode).lap(lapValue)
-                        .numberOfHorse(nr).nameOfHorse(normalizedName).placement(place.text().trim())
-                        .vOdds(vOdd.text().trim())
-                        .pOdds(pMap.getOrDefault(nr, ""))
-                        .trioOdds(trioMap.getOrDefault(nr, ""))
-                        .tvillingOdds(tvillingMap.getOrDefault(nr, ""))
-                        .build();
-            }
-
-            horsesToSave.add(horse);
+        for (AtgStart start : starts) {
+            String nr = start.number();
+            horsesToSave.add(ScrapedHorse.builder()
+                    .date(date).track(bankode).lap(lapValue)
+                    .numberOfHorse(nr).nameOfHorse(normalizeHorseNameSimple(start.horseName()))
+                    .placement(start.placement())
+                    .vOdds(start.odds())
+                    .pOdds(pMap.getOrDefault(nr, ""))
+                    .trioOdds(trioMap.getOrDefault(nr, ""))
+                    .tvillingOdds(tvillingMap.getOrDefault(nr, ""))
+                    .build());
         }
 
-        repo.saveAll(horsesToSave);
-        log.info("💾 Saved {} horses for {} {} lap {}", horsesToSave.size(), date, track, lap);
+        ScrapeCheckpoints.Key key = new ScrapeCheckpoints.Key(RESULTS_JOB, date, bankode, lap, RESULTS_PRODUCT);
+        long hash = ScrapeCheckpoints.hash(horsesToSave, h -> Arrays.asList(h.getNumberOfHorse(), h.getNameOfHorse(),
+                h.getPlacement(), h.getVOdds(), h.getPOdds(), h.getTrioOdds(), h.getTvillingOdds()));
+        writeBehind.submit(new PendingWrite.Checkpointed(new PendingWrite.ScrapedHorses(horsesToSave), key, hash));
+        log.info("💾 Queued {} horses for {} {} lap {}", horsesToSave.size(), date, track, lap);
+        return horsesToSave.size();
     }
 
-    private void parseAndPersistFuture(String html, LocalDate date, String track, int lap) {
-        Document doc = Jsoup.parse(html);
-        Elements rows = doc.select("tr[data-test-id^=horse-row]");
-        if (rows.isEmpty()) return;
+    private List<AtgStart> futureStarts(Startlist startlist, LocalDate date, String track, int lap) {
+        List<AtgStart> starts = new ArrayList<>();
+        if (startlist.rows().stream().noneMatch(StartlistRow::horseRow)) return starts;
 
         // --- DISTANS (för loppet, ex "2 140 m" -> 2140) ---
         Integer raceDistans = null;
         try {
-            String headerText = "";
-            Element legHeader = doc.selectFirst("#leg-header");
-            if (legHeader != null) {
-                headerText = normalizeCellText(legHeader.text()).replace('\u00A0', ' ');
-            } else {
-                Element game = doc.selectFirst("[data-test-id=vinnare-game]");
-                if (game != null) headerText = normalizeCellText(game.text()).replace('\u00A0', ' ');
-            }
+            String headerText = normalizeCellText(startlist.header()).replace('\u00A0', ' ');
 
             Pattern distRx = Pattern.compile("(\\d[\\d\\s]{2,6})\\s*m\\b", Pattern.CASE_INSENSITIVE);
             Matcher md = distRx.matcher(headerText);
@@ -1186,41 +1633,12 @@ public class AtgScraperService {
             log.debug("FUTURE distans missing: date={} track={} lap={}", date, track, lap);
         }
 
-        List<FutureHorse> toSave = new ArrayList<>();
         Set<String> seen = new HashSet<>();
 
-        Map<String, ResultHorse> resultUpserts = new LinkedHashMap<>();
-
-        List<String> track1337 = List.of(
-                "bjerke",
-                "orkla",
-                "bodo",
-                "biri",
-                "bergen",
-                "drammen",
-                "forus",
-                "harstad",
-                "haugaland",
-                "jarlsberg",
-                "klosterskogen",
-                "leangen",
-                "momarken",
-                "sorlandet",
-                "arhus",
-                "billund",
-                "bornholm",
-                "charlottenlund",
-                "nykobing",
-                "odense",
-                "skive",
-                "alborg",
-                "mariehamn"
-        );
-
         int currentDistanceAddition = 0;
 
-        for (Element tr : doc.select("tr")) {
-            Integer distanceAddition = parseDistanceAddition(tr);
+        for (StartlistRow row : startlist.rows()) {
+            Integer distanceAddition = parseDistanceAddition(row.text());
             if (distanceAddition != null) {
                 currentDistanceAddition = distanceAddition;
                 log.info("FUTURE distanstillägg parsed: date={} track={} lap={} tillägg={}m",
@@ -1228,12 +1646,11 @@ public class AtgScraperService {
                 continue;
             }
 
-            if (!isHorseRow(tr)) {
+            if (!row.horseRow()) {
                 continue;
             }
 
-            String nr = extractStartNumber(tr);
-            nr = nr.replaceAll("\\D+", "");
+            String nr = normalizeCellText(row.startNumber()).replaceAll("\\D+", "");
             if (nr.isBlank()) {
                 log.debug("⏭️  Skipping row without start number {} {} lap {}", date, track, lap);
                 continue;
@@ -1243,9 +1660,8 @@ public class AtgScraperService {
                 continue;
             }
 
-            Element split = tr.selectFirst("[startlist-export-id^=startlist-cell-horse-split-export]");
-            String rawName = (split != null) ? normalizeCellText(split.text()) : "";
-            if (rawName.isBlank()) rawName = normalizeCellText(tr.text());
+            String rawName = normalizeCellText(row.horse());
+            if (rawName.isBlank()) rawName = normalizeCellText(row.text());
 
             rawName = rawName.replaceFirst("^\\s*" + Pattern.quote(nr) + "\\s+", "");
             rawName = rawName.replaceFirst("^\\s*\\d{1,2}\\s+", "");
@@ -1256,206 +1672,113 @@ public class AtgScraperService {
                 continue;
             }
 
-            Element vOddEl = tr.selectFirst("[data-test-id=startlist-cell-vodds]");
-            String vOdds = vOddEl != null ? vOddEl.text().trim() : "";
-
-            Element driverEl = tr.selectFirst("[startlist-export-id^=startlist-cell-driver-split-export]");
-            String kusk = driverEl != null ? trimToMax(normalizeCellText(driverEl.text()), 80) : "";
+            String vOdds = row.vOdds() != null ? row.vOdds().trim() : "";
+            String kusk = row.driver() != null ? trimToMax(normalizeCellText(row.driver()), 80) : "";
             Integer horseDistans = raceDistans != null ? raceDistans + currentDistanceAddition : null;
 
             log.info("FUTURE raw: date={} track={} lap={} nr={} name='{}' odds='{}' kusk='{}' distans='{}'",
                     date, track, lap, nr, normalizedName, vOdds, kusk, horseDistans);
 
-            String bankode = toKnownBankodOrNull(track);
-            if (bankode == null) {
-                log.warn("⚠️  Okänd bana '{}' -> skippar FUTURE (FutureHorse) helt", track);
-                continue;
-            }
-
-            Optional<FutureHorse> existing = futureRepo
-                    .findByDateAndTrackAndLapAndNumberOfHorse(
-                            date, bankode, String.valueOf(lap), nr);
+            starts.add(new AtgStart(nr, normalizedName, kusk, "", vOdds, null, horseDistans, false));
+        }
 
-            FutureHorse fh;
-            if (existing.isPresent()) {
-                fh = existing.get();
-                fh.setNameOfHorse(normalizedName);
-                fh.setVOdds(vOdds);
-            } else {
-                fh = FutureHorse.builder()
-                        .date(date)
-                        .track(bankode)
-                        .lap(String.valueOf(lap))
-                        .numberOfHorse(nr)
-                        .nameOfHorse(normalizedName)
-                        .vOdds(vOdds)
-                        .build();
-            }
+        return starts;
+    }
 
-            toSave.add(fh);
+    private static List<AtgStart> futureStarts(AtgRace race) {
+        List<AtgStart> starts = new ArrayList<>(race.starts().size());
+        for (AtgStart start : race.starts()) {
+            Integer distans = start.distance() != null ? start.distance() : race.distance();
+            starts.add(new AtgStart(start.number(), start.horseName(), start.driverName(), start.placement(),
+                    start.odds(), start.betDistribution(), distans, start.scratched()));
+        }
+        return starts;
+    }
 
-            boolean allowCreateResultRow = track1337.contains(trackKey(track))
-                    || track1337.contains(trackKey(BANKODE_TO_SLUG.getOrDefault(bankode, "")));
+    private void persistFuture(List<AtgStart> starts, LocalDate date, String track, int lap) {
+        if (starts.isEmpty()) return;
 
-            ResultHorse rhOdds = buildOrUpdateResultOddsForFuture(
-                    date, bankode, lap, normalizedName, nr, vOdds, allowCreateResultRow
-            );
-            if (rhOdds != null) {
-                if (horseDistans != null && rhOdds.getDistans() == null) {
-                    rhOdds.setDistans(horseDistans);
-                }
-                String key = rhOdds.getDatum() + "|" + rhOdds.getBankod() + "|" + rhOdds.getLopp() + "|" + rhOdds.getNamn();
-                resultUpserts.put(key, rhOdds);
-            }
-
-            if ((kusk != null && !kusk.isBlank()) || horseDistans != null) {
-                int datum = toYyyymmdd(date);
-                String safeName = normalizedName;
-                String key = datum + "|" + bankode + "|" + lap + "|" + safeName;
-
-                ResultHorse rh = resultUpserts.get(key);
-                if (rh == null) {
-                    Optional<ResultHorse> existingRh = resultRepo
-                            .findByDatumAndBankodAndLoppAndNamn(datum, bankode, lap, safeName);
-                    if (existingRh.isPresent()) {
-                        rh = existingRh.get();
-                    } else if (allowCreateResultRow) {
-                        int parsedNr = 0;
-                        try {
-                            parsedNr = Integer.parseInt(nr);
-                        } catch (NumberFormatException ignored) {
-                            parsedNr = 0;
-                        }
-                        rh = ResultHorse.builder()
-                                .datum(datum)
-                                .bankod(bankode)
-                                .lopp(lap)
-                                .nr(parsedNr)
-                                .namn(safeName)
-                                .build();
-                    }
-                }
+        String bankode = toKnownBankodOrNull(track);
+        if (bankode == null) {
+            log.warn("⚠️  Okänd bana '{}' -> skippar FUTURE (FutureHorse) helt", track);
+            return;
+        }
 
-                if (rh != null) {
-                    if (kusk != null && !kusk.isBlank()) {
-                        String current = rh.getKusk();
-                        if (current == null || current.isBlank() || !Objects.equals(current, kusk)) {
-                            rh.setKusk(kusk);
-                        }
-                    }
+        List<FutureHorse> toSave = new ArrayList<>();
+        List<ResultHorse> resultFields = new ArrayList<>();
 
-                    if (horseDistans != null) {
-                        Integer currentD = rh.getDistans();
-                        if (currentD == null || !Objects.equals(currentD, horseDistans)) {
-                            rh.setDistans(horseDistans);
-                        }
-                    }
+        // future_horse is upserted on its key and resultat rows are checked against ResultKeyCache: no reads per lap.
+        String lapValue = String.valueOf(lap);
 
-                    resultUpserts.put(key, rh);
-                }
-            }
-        }
+        List<String> track1337 = List.of(
+                "bjerke",
+                "orkla",
+                "bodo",
+                "biri",
+                "bergen",
+                "drammen",
+                "forus",
+                "harstad",
+                "haugaland",
+                "jarlsberg",
+                "klosterskogen",
+                "leangen",
+                "momarken",
+                "sorlandet",
+                "arhus",
+                "billund",
+                "bornholm",
+                "charlottenlund",
+                "nykobing",
+                "odense",
+                "skive",
+                "alborg",
+                "mariehamn"
+        );
 
-        try {
-            futureRepo.saveAll(toSave);
-        } catch (DataIntegrityViolationException dive) {
-            log.warn("🔁 saveAll collided with unique constraint, retrying per row (future) on {} {} lap {}", date, track, lap);
-            for (FutureHorse fh : toSave) {
-                try {
-                    Optional<FutureHorse> existing = futureRepo.findByDateAndTrackAndLapAndNumberOfHorse(
-                            fh.getDate(), fh.getTrack(), fh.getLap(), fh.getNumberOfHorse());
-                    if (existing.isPresent()) {
-                        FutureHorse e = existing.get();
-                        e.setNameOfHorse(fh.getNameOfHorse());
-                        e.setVOdds(fh.getVOdds());
-                        futureRepo.save(e);
-                    } else {
-                        futureRepo.save(fh);
-                    }
-                } catch (DataIntegrityViolationException ignored) {
-                    log.warn("⚠️  Could not upsert {} {} lap {} no {}", fh.getDate(), fh.getTrack(), fh.getLap(), fh.getNumberOfHorse());
-                }
-            }
-        }
+        // Only the tracks in track1337 may create RESULTAT rows from a startlist; elsewhere existing rows are updated.
+        boolean allowCreateResultRow = track1337.contains(trackKey(track))
+                || track1337.contains(trackKey(BANKODE_TO_SLUG.getOrDefault(bankode, "")));
+
+        for (AtgStart start : starts) {
+            String nr = start.number();
+            String normalizedName = normalizeHorseNameSimple(start.horseName());
+            String vOdds = start.odds();
+            String kusk = trimToMax(normalizeCellText(start.driverName()), 80);
+            Integer horseDistans = start.distance();
+
+            FutureHorse fh = FutureHorse.builder()
+                    .date(date)
+                    .track(bankode)
+                    .lap(lapValue)
+                    .numberOfHorse(nr)
+                    .nameOfHorse(normalizedName)
+                    .vOdds(vOdds)
+                    .build();
 
-        List<ResultHorse> resultUpdates = new ArrayList<>(resultUpserts.values());
+            toSave.add(fh);
 
-        if (!resultUpdates.isEmpty()) {
-            try {
-                resultRepo.saveAll(resultUpdates);
-                log.info("💾 (future) Uppdaterade/skapade {} rader i RESULTAT (odds/kusk/distans) för {} {} lap {}",
-                        resultUpdates.size(), date, track, lap);
-            } catch (DataIntegrityViolationException dive) {
-                log.warn("🔁 (future) saveAll (odds/kusk/distans) krockade, retrying per row på {} {} lap {}: {}",
-                        date, track, lap, dive.getMostSpecificCause().getMessage());
-
-                for (ResultHorse rh : resultUpdates) {
-                    try {
-                        resultRepo.save(rh);
-                    } catch (DataIntegrityViolationException ignored) {
-                        try {
-                            Optional<ResultHorse> existing = resultRepo
-                                    .findByDatumAndBankodAndLoppAndNamn(rh.getDatum(), rh.getBankod(), rh.getLopp(), rh.getNamn());
-                            if (existing.isPresent()) {
-                                ResultHorse e = existing.get();
-
-                                // Odds: behåll din "säker" fallback-logik
-                                Integer incomingOdds = rh.getOdds();
-                                if (incomingOdds != null) {
-                                    Integer currentOdds = e.getOdds();
-                                    boolean isEjOdds = (incomingOdds == 99);
-
-                                    if (isEjOdds) {
-                                        if (currentOdds == null || currentOdds != 99) {
-                                            e.setOdds(99);
-                                        }
-                                    } else if (currentOdds == null || currentOdds == 999) {
-                                        e.setOdds(incomingOdds);
-                                    }
-                                }
-
-                                // Kusk
-                                if (rh.getKusk() != null && !rh.getKusk().isBlank()) {
-                                    String currentK = e.getKusk();
-                                    if (currentK == null || currentK.isBlank() || !Objects.equals(currentK, rh.getKusk())) {
-                                        e.setKusk(rh.getKusk());
-                                    }
-                                }
-
-                                // Distans
-                                if (rh.getDistans() != null) {
-                                    Integer currentD = e.getDistans();
-                                    if (currentD == null || !Objects.equals(currentD, rh.getDistans())) {
-                                        e.setDistans(rh.getDistans());
-                                    }
-                                }
-
-                                resultRepo.save(e);
-                            } else {
-                                log.warn("⚠️  (future) Kunde inte hitta rad efter krock datum={} bankod={} lopp={} namn={}",
-                                        rh.getDatum(), rh.getBankod(), rh.getLopp(), rh.getNamn());
-                            }
-                        } catch (Exception ex) {
-                            log.warn("⚠️  (future) Kunde inte retry-upserta (odds/kusk/distans) datum={} bankod={} lopp={} namn={} ({})",
-                                    rh.getDatum(), rh.getBankod(), rh.getLopp(), rh.getNamn(), ex.getMessage());
-                        }
-                    }
-                }
+            ResultHorse fields = futureResultFields(date, bankode, lap, normalizedName, nr, vOdds, kusk, horseDistans);
+            if (fields != null && resultKeyCache.changesFutureFields(fields, allowCreateResultRow)) {
+                resultFields.add(fields);
             }
         }
 
-        log.info("💾 (future) Saved/updated {} horses for {} {} lap {}", toSave.size(), date, track, lap);
-    }
-
+        ScrapeCheckpoints.Key key = new ScrapeCheckpoints.Key(FUTURE_JOB, date, bankode, lap, FUTURE_PRODUCT);
+        long hash = ScrapeCheckpoints.hash(toSave,
+                h -> Arrays.asList(h.getNumberOfHorse(), h.getNameOfHorse(), h.getVOdds()));
+        writeBehind.submit(new PendingWrite.Checkpointed(
+                new PendingWrite.FutureLap(toSave, resultFields, allowCreateResultRow), key, hash));
 
-    private static boolean isHorseRow(Element tr) {
-        return tr != null && tr.attr("data-test-id").startsWith("horse-row");
+        log.info("💾 (future) Queued {} horses and {} RESULTAT field updates for {} {} lap {}",
+                toSave.size(), resultFields.size(), date, track, lap);
     }
 
-    private static Integer parseDistanceAddition(Element tr) {
-        if (tr == null) return null;
 
-        String text = normalizeCellText(tr.text()).replace('\u00A0', ' ');
+    private static Integer parseDistanceAddition(String rowText) {
+        if (rowText == null) return null;
+
+        String text = normalizeCellText(rowText).replace('\u00A0', ' ');
         Matcher matcher = DISTANCE_ADDITION.matcher(text);
         if (!matcher.find()) return null;
 
@@ -1467,43 +1790,19 @@ public class AtgScraperService {
         return null;
     }
 
-    private String extractStartNumber(Element tr) {
-        Element numBtn = tr.selectFirst("button[data-test-start-number], [data-test-start-number]");
-        if (numBtn != null) {
-            String n = numBtn.attr("data-test-start-number");
-            if (n != null && !n.isBlank()) return n.trim();
-        }
-
-        Element split = tr.selectFirst("[startlist-export-id^=startlist-cell-horse-split-export]");
-        if (split != null) {
-            for (Element sp : split.select("span")) {
-                String d = normalizeCellText(sp.text()).replaceAll("\\D+", "");
-                if (!d.isBlank()) return d;
-            }
-
-            String splitTxt = normalizeCellText(split.text());
-            Matcher m = Pattern.compile("^\\s*(\\d{1,2})\\b").matcher(splitTxt);
-            if (m.find()) return m.group(1);
-        }
-
-        Element nrText = tr.selectFirst("[data-test-id=horse-start-number], [class*=startNumber]");
-        if (nrText != null) {
-            String n = nrText.text().replaceAll("\\D+", "");
-            if (!n.isBlank()) return n;
-        }
-        return "";
-    }
-
     public void scrapeResultatPopupsOnly() {
-        if (!lock.tryLock()) {
+        if (!popupLock.tryLock()) {
             log.warn("⏳ Previous scrape still running – skipping (resultat popups)");
             return;
         }
-        try {
+        ExecutorService popupParser = Executors.newFixedThreadPool(Math.max(1, props.getPopupParseThreads()),
+                new CustomizableThreadFactory("popup-parse-"));
+        try (BrowserLease lease = browserPool.acquire()) {
             LocalDate end = Optional.ofNullable(props.getEndDateResultatPopup())
                     .orElse(LocalDate.now(ZoneId.of("Europe/Stockholm")).minusDays(1));
             LocalDate start = Optional.ofNullable(props.getStartDateResultatPopup())
                     .orElse(end);
+            resultKeyCache.begin(toYyyymmdd(start), toYyyymmdd(end));
 
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("📆  Scraping ATG HISTORY (popup) {}", date);
@@ -1538,70 +1837,102 @@ public class AtgScraperService {
                 allTracks.addAll(hardcodedTracks);
 
                 for (String track : allTracks) {
-                    processDateTrackResultatPopups(date, track);
+                    Set<Integer> doneLaps = checkpoints.doneLaps(POPUPS_JOB, date, checkpointTrack(track), POPUPS_PRODUCT);
+                    processDateTrackResultatPopups(lease.context(), date, track, doneLaps, popupParser);
                 }
             }
         } finally {
-            lock.unlock();
+            awaitPopupParsing(popupParser);
+            writeBehind.flush();
+            resultKeyCache.end();
+            popupLock.unlock();
         }
     }
 
-    private void processDateTrackResultatPopups(LocalDate date, String track) {
-        ensureContext();
+    private void awaitPopupParsing(ExecutorService popupParser) {
+        popupParser.shutdown();
+        try {
+            if (!popupParser.awaitTermination(30, TimeUnit.MINUTES)) {
+                log.warn("⚠️  (resultat) Popup-parsning blev inte klar inom 30 min, avbryter");
+                popupParser.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            popupParser.shutdownNow();
+        }
+    }
+
+    private void processDateTrackResultatPopups(BrowserContext ctx, LocalDate date, String track,
+                                                Set<Integer> doneLaps, ExecutorService popupParser) {
 
         int consecutiveMisses = 0;
-        for (int lap = 1; lap <= 15; lap++) {
-            String url = String.format(
-                    "https://www.atg.se/spel/%s/vinnare/%s/lopp/%d",
-                    date.format(URL_DATE_FORMAT), track, lap);
+        try (WarmTab tab = warmTabs.newTab(ctx)) {
+            for (int lap = 1; lap <= 15; lap++) {
+                if (doneLaps.contains(lap)) {
+                    consecutiveMisses = 0;
+                    continue;
+                }
 
-            try (Page page = ctx.newPage()) {
-                Page.NavigateOptions nav = new Page.NavigateOptions()
-                        .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
-                        .setTimeout(75_000);
+                String url = String.format(
+                        "https://www.atg.se/spel/%s/vinnare/%s/lopp/%d",
+                        date.format(URL_DATE_FORMAT), track, lap);
 
-                page.navigate(url, nav);
+                try {
+                    Page.NavigateOptions nav = new Page.NavigateOptions()
+                            .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                            .setTimeout(75_000);
 
-                if (page.url().contains("/spel/kalender/")) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    Page page = tab.navigate(url, nav);
 
-                page.waitForSelector(
-                        "button:has-text(\"Tillåt alla\"):visible, " +
-                                "button:has-text(\"Avvisa\"):visible, " +
-                                "tr[data-test-id^=horse-row]",
-                        new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    if (page.url().contains("/spel/kalender/")) {
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                dismissCookiesIfPresent(page);
+                    page.waitForSelector(
+                            "button:has-text(\"Tillåt alla\"):visible, " +
+                                    "button:has-text(\"Avvisa\"):visible, " +
+                                    WarmTab.FRESH_HORSE_ROWS,
+                            new Page.WaitForSelectorOptions().setTimeout(75_000));
 
-                page.waitForSelector("tr[data-test-id^=horse-row]",
-                        new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    dismissCookiesIfPresent(page);
 
-                if (isCancelledRace(page)) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                            new Page.WaitForSelectorOptions().setTimeout(75_000));
+                    tab.ready();
 
-                String effectiveTrack = resolveEffectiveTrackSlugStrict(page, date, lap, track);
-                if (effectiveTrack == null) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
-                }
+                    PageSnapshot snapshot = PageSnapshot.of(page);
+                    if (isCancelledRace(snapshot.document())) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                if (!isCorrectTrack(page, effectiveTrack, date)) return;
+                    String effectiveTrack = resolveEffectiveTrackSlugStrict(page, date, lap, track);
+                    if (effectiveTrack == null) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
 
-                consecutiveMisses = 0;
+                    if (!isCorrectTrack(snapshot.document(), effectiveTrack, date)) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        return;
+                    }
 
-                scrapeResultatFromPopups(page, date, effectiveTrack, lap);
+                    consecutiveMisses = 0;
 
-            } catch (PlaywrightException e) {
-                log.warn("⚠️  (resultat) Playwright-fel på {}: {}", url, e.getMessage());
-                if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
-                    if (++consecutiveMisses >= 2) break;
-                    continue;
+                    scrapeResultatFromPopups(page, date, effectiveTrack, lap, popupParser);
+
+                } catch (PlaywrightException e) {
+                    log.warn("⚠️  (resultat) Playwright-fel på {}: {}", url, e.getMessage());
+                    if (e.getMessage() != null && e.getMessage().contains("Timeout")) {
+                        if (tab.fallBackIfInApp()) { lap--; continue; }
+                        if (++consecutiveMisses >= 2) break;
+                        continue;
+                    }
+                    break;
                 }
-                break;
             }
         }
     }
@@ -1730,10 +2061,29 @@ public class AtgScraperService {
                 Pattern.compile("Mer\\s+info|Visa\\s+mer(\\s+info)?", Pattern.CASE_INSENSITIVE)));
     }
 
-    private void scrapeResultatFromPopups(Page page, LocalDate meetingDate, String meetingTrackSlug, int meetingLap) {
+    private void scrapeResultatFromPopups(Page page, LocalDate meetingDate, String meetingTrackSlug, int meetingLap,
+                                          ExecutorService popupParser) {
+        PopupLap popupLap = new PopupLap(meetingDate, meetingTrackSlug, meetingLap);
+        try {
+            scrapeResultatFromPopups(page, meetingDate, meetingTrackSlug, meetingLap, popupParser, popupLap);
+        } catch (RuntimeException e) {
+            popupLap.markIncomplete();
+            throw e;
+        } finally {
+            popupLap.join();
+        }
+    }
+
+    private void scrapeResultatFromPopups(Page page, LocalDate meetingDate, String meetingTrackSlug, int meetingLap,
+                                          ExecutorService popupParser, PopupLap popupLap) {
         clickExpandAllIfPresent(page);
         tryExpandSomeRowsIfMerInfoHidden(page);
 
+        if (props.isPopupBulkExtraction()
+                && scrapeResultatFromPopupsBulk(page, meetingDate, meetingTrackSlug, meetingLap, popupParser, popupLap)) {
+            return;
+        }
+
         int textCount = page.locator("text=Mer info").count();
         int dataTestIdCount = page.locator("[data-test-id*=\"previous-starts\"][data-test-id*=\"show-more\"]").count();
 
@@ -1741,6 +2091,7 @@ public class AtgScraperService {
         int total = merInfoButtons.count();
 
         if (total <= 0) {
+            popupLap.markIncomplete();
             log.info("🟦 (resultat) Inga 'Mer info/Visa mer' hittades på {} {} lopp {} (selCount={}, textCount={}, dataTestIdCount={})",
                     meetingDate, meetingTrackSlug, meetingLap, total, textCount, dataTestIdCount);
             return;
@@ -1794,13 +2145,14 @@ public class AtgScraperService {
 
                 String fragment = waitScope.evaluate("el => el.outerHTML").toString();
 
-                parseAndPersistResultatFromPreviousStarts(
+                popupLap.add(parseResultatFromPreviousStarts(
                         fragment, meetingDate, meetingTrackSlug, meetingLap, horseName, horseNr, i
-                );
+                ));
 
                 closePreviousStarts(page, btn, waitScope);
 
             } catch (PlaywrightException e) {
+                popupLap.markIncomplete();
                 log.warn("⚠️  (resultat) Kunde inte öppna/scrapa 'Mer info/Visa mer' på {} {} lopp {}: {}",
                         meetingDate, meetingTrackSlug, meetingLap, e.getMessage());
                 try {
@@ -1811,49 +2163,105 @@ public class AtgScraperService {
         }
     }
 
-    private HorseMeta extractHorseMetaFromHorseRow(Locator horseRow, Locator split) {
-        Integer nr = null;
-        String nameRaw = "";
+    /**
+     * Bulk variant: opens every "Mer info" panel with one click script, reads all tables back in one call and
+     * hands the fragments to {@code popupParser}, so the browser thread can move on to the next lap.
+     * Returns false when nothing could be opened or read; the caller then goes horse by horse.
+     */
+    private boolean scrapeResultatFromPopupsBulk(Page page, LocalDate meetingDate, String meetingTrackSlug,
+                                                 int meetingLap, ExecutorService popupParser, PopupLap popupLap) {
+        int opened = previousStartsExtractor.expandAll(page, RESULTAT_MAX_HORSES_PER_LAP);
+        if (opened <= 0) return false;
+
+        List<PreviousStartsFragment> fragments = previousStartsExtractor.collect(page, 30_000);
+        previousStartsExtractor.collapseAll(page);
+        if (fragments == null || fragments.isEmpty()) return false;
+
+        long missing = fragments.stream().filter(f -> !f.loaded()).count();
+        log.info("🟩 (atg history) Öppnade {} 'Mer info' samtidigt på {} {} lopp {} ({} laddades inte)",
+                opened, meetingDate, meetingTrackSlug, meetingLap, missing);
+
+        for (PreviousStartsFragment fragment : fragments) {
+            if (!fragment.loaded()) {
+                popupLap.markIncomplete();
+                log.warn("⚠️  (resultat) 'Mer info' #{} laddades inte på {} {} lopp {}",
+                        fragment.index(), meetingDate, meetingTrackSlug, meetingLap);
+                continue;
+            }
+
+            HorseMeta meta = horseMeta(fragment.startNumber(), fragment.splitTextContent(),
+                    fragment.splitText(), fragment::rowText);
+            popupLap.fork();
+            popupParser.execute(() -> {
+                try {
+                    popupLap.add(parseResultatFromPreviousStarts(fragment.html(), meetingDate, meetingTrackSlug,
+                            meetingLap, meta.name(), meta.nr(), fragment.index()));
+                } catch (RuntimeException e) {
+                    popupLap.markIncomplete();
+                    log.warn("⚠️  (resultat) Kunde inte spara 'Mer info' för häst='{}' på {} {} lopp {}: {}",
+                            meta.name(), meetingDate, meetingTrackSlug, meetingLap, e.getMessage());
+                } finally {
+                    popupLap.join();
+                }
+            });
+        }
+        return true;
+    }
 
+    private HorseMeta extractHorseMetaFromHorseRow(Locator horseRow, Locator split) {
+        String startNumber = null;
         try {
             Locator startBtn = horseRow.locator("button[data-test-start-number], [data-test-start-number]");
             if (startBtn.count() > 0) {
-                String attr = startBtn.first().getAttribute("data-test-start-number");
-                String digits = (attr != null) ? attr.replaceAll("\\D+", "") : "";
-                if (!digits.isBlank()) {
-                    nr = Integer.parseInt(digits);
-                }
+                startNumber = startBtn.first().getAttribute("data-test-start-number");
             }
         } catch (Exception ignored) {
         }
 
-        if (nr == null && split != null && split.count() > 0) {
+        String splitTextContent = null;
+        String splitText = null;
+        if (split != null && split.count() > 0) {
             try {
-                String tc = split.first().textContent();
-                nr = parseLeadingStartNumberFromTextContent(tc);
+                splitTextContent = split.first().textContent();
             } catch (Exception ignored) {
             }
-        }
-
-        if (split != null && split.count() > 0) {
             try {
-                nameRaw = split.first().innerText();
+                splitText = split.first().innerText();
             } catch (Exception ignored) {
-                try {
-                    nameRaw = split.first().textContent();
-                } catch (Exception ignored2) {
-                    nameRaw = "";
-                }
+                splitText = splitTextContent;
             }
         }
 
-        nameRaw = normalizeCellText(nameRaw).replaceAll("\\s+", " ").trim();
-        if (nameRaw.isBlank()) {
+        return horseMeta(startNumber, splitTextContent, splitText, () -> {
             try {
-                nameRaw = normalizeCellText(horseRow.innerText()).replaceAll("\\s+", " ").trim();
+                return horseRow.innerText();
             } catch (Exception ignored) {
-                nameRaw = "";
+                return "";
             }
+        });
+    }
+
+    /**
+     * Start number from the start-number attribute or the leading digits of the horse cell; name from the
+     * horse cell, or from the whole row when the cell is empty.
+     */
+    private HorseMeta horseMeta(String startNumber, String splitTextContent, String splitText,
+                                Supplier<String> rowText) {
+        Integer nr = null;
+        String digits = (startNumber != null) ? startNumber.replaceAll("\\D+", "") : "";
+        if (!digits.isBlank()) {
+            try {
+                nr = Integer.parseInt(digits);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        if (nr == null) {
+            nr = parseLeadingStartNumberFromTextContent(splitTextContent);
+        }
+
+        String nameRaw = normalizeCellText(splitText).replaceAll("\\s+", " ").trim();
+        if (nameRaw.isBlank()) {
+            nameRaw = normalizeCellText(rowText.get()).replaceAll("\\s+", " ").trim();
         }
 
         if (nr != null) {
@@ -1916,7 +2324,7 @@ public class AtgScraperService {
         }
     }
 
-    private void parseAndPersistResultatFromPreviousStarts(
+    private List<ResultHorse> parseResultatFromPreviousStarts(
             String html,
             LocalDate meetingDate,
             String meetingTrackSlug,
@@ -1938,14 +2346,14 @@ public class AtgScraperService {
         if (container == null) {
             log.warn("⚠️  (resultat) Hittade inte previous-starts-container för häst='{}' på {} {} lopp {}",
                     horseName, meetingDate, meetingTrackSlug, meetingLap);
-            return;
+            return List.of();
         }
 
         Element table = container.selectFirst("table");
         if (table == null) {
             log.warn("⚠️  (resultat) Hittade ingen table i previous-starts för häst='{}' på {} {} lopp {}",
                     horseName, meetingDate, meetingTrackSlug, meetingLap);
-            return;
+            return List.of();
         }
 
         Elements rows = table.select("tbody tr");
@@ -1954,7 +2362,7 @@ public class AtgScraperService {
         if (rows.isEmpty()) {
             log.warn("⚠️  (resultat) Inga rader i previous-starts på {} {} lopp {}",
                     meetingDate, meetingTrackSlug, meetingLap);
-            return;
+            return List.of();
         }
 
         String safeName = normalizeHorseNameSimple(horseName);
@@ -1993,99 +2401,44 @@ public class AtgScraperService {
 
             String kusk = trimToMax(textAt(tds, kuskIdx), 80);
 
-            ResultHorse rh = resultRepo
-                    .findByDatumAndBankodAndLoppAndNamn(datum, tl.bankod(), tl.lopp(), safeName)
-                    .orElseGet(() -> ResultHorse.builder()
-                            .datum(datum)
-                            .bankod(tl.bankod())
-                            .lopp(tl.lopp())
-                            .nr(0)
-                            .namn(safeName)
-                            .build());
-
-            if (!safeName.isBlank()) {
-                rh.setNamn(safeName);
-            }
-
-            if (rh.getNr() == null) {
-                rh.setNr(0);
-            }
-
-            if (distans != null) rh.setDistans(distans);
-            if (spar != null) rh.setSpar(spar);
-            if (placering != null) rh.setPlacering(placering);
-            if (tid != null) rh.setTid(tid);
-            if (startmetod != null && !startmetod.isBlank()) rh.setStartmetod(startmetod);
-            if (galopp != null && !galopp.isBlank()) rh.setGalopp(galopp);
-
-            Integer existingPris = rh.getPris();
-            if (existingPris == null || !Objects.equals(existingPris, pris)) {
-                rh.setPris(pris);
-            }
-            rh.setOdds(odds);
-
-            if (!underlag.isBlank()) rh.setUnderlag(underlag);
-            else if (rh.getUnderlag() == null) rh.setUnderlag("");
-
-            if (kusk != null && !kusk.isBlank()) rh.setKusk(kusk);
-
-            toSave.add(rh);
+            // Merge rules against the stored row (nr kept, blanks never overwrite) are in ResultHorseWriter's SQL.
+            toSave.add(ResultHorse.builder()
+                    .datum(datum)
+                    .bankod(tl.bankod())
+                    .lopp(tl.lopp())
+                    .nr(0)
+                    .namn(safeName)
+                    .distans(distans)
+                    .spar(spar)
+                    .placering(placering)
+                    .tid(tid)
+                    .startmetod(startmetod != null ? startmetod : "")
+                    .galopp(galopp != null ? galopp : "")
+                    .underlag(underlag)
+                    .pris(pris)
+                    .odds(odds)
+                    .kusk(kusk != null ? kusk : "")
+                    .build());
         }
 
         if (toSave.isEmpty()) {
             log.info("🟦 (resultat) Inget att spara från 'Mer info' (häst='{}') på {} {} lopp {}",
                     horseName, meetingDate, meetingTrackSlug, meetingLap);
-            return;
+            return List.of();
         }
 
-        try {
-            resultRepo.saveAll(toSave);
-            log.info("💾 (resultat - POPUP) Sparade/uppdaterade {} rader från 'Mer info' (nr=keep/default0) på {} {} lopp {}",
-                    toSave.size(), meetingDate, meetingTrackSlug, meetingLap);
-        } catch (DataIntegrityViolationException dive) {
-            log.warn("⚠️  (resultat) saveAll krockade, kör fallback rad-för-rad (nr=keep/default0) på {} {} lopp {}: {}",
-                    meetingDate, meetingTrackSlug, meetingLap, dive.getMostSpecificCause().getMessage());
-
-            for (ResultHorse rh : toSave) {
-                try {
-                    ResultHorse existing = resultRepo
-                            .findByDatumAndBankodAndLoppAndNamn(rh.getDatum(), rh.getBankod(), rh.getLopp(), safeName)
-                            .orElse(rh);
-
-                    if (!rh.getNamn().isBlank()) existing.setNamn(rh.getNamn());
-
-                    if (rh.getDistans() != null) existing.setDistans(rh.getDistans());
-                    if (rh.getSpar() != null) existing.setSpar(rh.getSpar());
-                    if (rh.getPlacering() != null) existing.setPlacering(rh.getPlacering());
-                    if (rh.getTid() != null) existing.setTid(rh.getTid());
-                    if (rh.getStartmetod() != null && !rh.getStartmetod().isBlank())
-                        existing.setStartmetod(rh.getStartmetod());
-                    if (rh.getGalopp() != null && !rh.getGalopp().isBlank()) existing.setGalopp(rh.getGalopp());
-
-                    Integer newPris = rh.getPris();
-                    Integer oldPris = existing.getPris();
-                    if (oldPris == null || !Objects.equals(oldPris, newPris)) {
-                        existing.setPris(newPris);
-                    }
-
-                    existing.setOdds(rh.getOdds());
-
-                    if (rh.getUnderlag() != null && !rh.getUnderlag().isBlank()) existing.setUnderlag(rh.getUnderlag());
-                    else if (existing.getUnderlag() == null) existing.setUnderlag("");
-
-                    if (rh.getKusk() != null && !rh.getKusk().isBlank()) existing.setKusk(rh.getKusk());
-
-                    if (existing.getNr() == null) {
-                        existing.setNr(0);
-                    }
-
-                    resultRepo.save(existing);
-                } catch (DataIntegrityViolationException ignored) {
-                    log.warn("⚠️  (resultat) Kunde inte upserta datum={} bankod={} lopp={} nr=keep/default0",
-                            rh.getDatum(), rh.getBankod(), rh.getLopp());
-                }
-            }
+        // The same start shows up under every later meeting of the horse; rows already stored as-is are skipped.
+        int parsed = toSave.size();
+        toSave.removeIf(rh -> !resultKeyCache.changesPreviousStart(rh));
+        if (toSave.isEmpty()) {
+            log.debug("🟦 (resultat) {} rader från 'Mer info' (häst='{}') redan sparade, {} {} lopp {}",
+                    parsed, horseName, meetingDate, meetingTrackSlug, meetingLap);
+            return List.of();
         }
+
+        log.debug("🟩 (resultat - POPUP) {} nya rader från 'Mer info' (häst='{}') på {} {} lopp {}",
+                toSave.size(), horseName, meetingDate, meetingTrackSlug, meetingLap);
+        return toSave;
     }
 
     private Integer extractDatumFromResultRow(Element tr) {
@@ -2241,44 +2594,22 @@ public class AtgScraperService {
         return overrideSlug;
     }
 
-    private ResultHorse buildOrUpdateResultOddsForFuture(LocalDate date, String bankod, int lap, String horseName,
-                                                         String startNumber, String vOdds, boolean allowCreateIfMissing) {
+    /**
+     * What a future startlist row contributes to RESULTAT: odds (EJ -> 99, null when unparsable), kusk and
+     * distans. Null when there is nothing to write.
+     */
+    private ResultHorse futureResultFields(LocalDate date, String bankod, int lap, String horseName,
+                                           String startNumber, String vOdds, String kusk, Integer distans) {
+        String safeName = normalizeHorseNameSimple(horseName);
+        if (safeName.isBlank()) return null;
+
         String vOddsNorm = normalizeCellText(vOdds);
         String vOddsUpper = vOddsNorm.toUpperCase(Locale.ROOT).replace(".", "").trim();
         boolean isEj = "EJ".equals(vOddsUpper);
-
         Integer parsedOdds = isEj ? 99 : parseOddsToInt(vOddsNorm);
-        if (parsedOdds == null) return null;
-
-        int datum = toYyyymmdd(date);
-        String safeName = normalizeHorseNameSimple(horseName);
-        if (safeName.isBlank()) return null;
-
-        Optional<ResultHorse> existingOpt = resultRepo
-                .findByDatumAndBankodAndLoppAndNamn(datum, bankod, lap, safeName);
-
-        if (existingOpt.isPresent()) {
-            ResultHorse rh = existingOpt.get();
-
-            Integer currentOdds = rh.getOdds();
-
-            if (isEj) {
-                if (currentOdds == null || currentOdds != 99) {
-                    rh.setOdds(99);
-                    return rh;
-                }
-                return null;
-            }
-
-            if (!Objects.equals(currentOdds, parsedOdds)) {
-                rh.setOdds(parsedOdds);
-                return rh;
-            }
-
-            return null;
-        }
 
-        if (!allowCreateIfMissing) return null;
+        boolean hasKusk = kusk != null && !kusk.isBlank();
+        if (parsedOdds == null && !hasKusk && distans == null) return null;
 
         int parsedNr = 0;
         if (startNumber != null) {
@@ -2293,12 +2624,14 @@ public class AtgScraperService {
         }
 
         return ResultHorse.builder()
-                .datum(datum)
+                .datum(toYyyymmdd(date))
                 .bankod(bankod)
                 .lopp(lap)
                 .nr(parsedNr)
                 .namn(safeName)
                 .odds(parsedOdds)
+                .kusk(hasKusk ? kusk : "")
+                .distans(distans)
                 .build();
     }
 
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 
 @Configuration
@@ -28,4 +30,84 @@ public class ScraperProperties {
 
     private LocalDate startDateReducedSystem = LocalDate.now().plusDays(0);
     private LocalDate endDateReducedSystem = LocalDate.now().plusDays(3);
+
+    private int browserPoolSize = 2;
+    private boolean browserPoolWarmUp = false;
+    private int browserPoolAcquireTimeoutSeconds = 900;
+
+    private int trackConcurrency = 2;
+    /**
+     * Steps the daily job runs, by name (e.g. "results,foreign results,double gangers"). The default is what the
+     * scheduled daily job has always run, the tid 99 rebuild; scrapers are turned on here, not by the graph.
+     */
+    private List<String> dailySteps = new ArrayList<>(List.of("tid 99 warnings"));
+    /** Daily steps running at once; 0 fits them to the browser pool (browserPoolSize / trackConcurrency). */
+    private int dailyParallelism = 0;
+    private int maxConcurrentNavigationsPerHost = 2;
+
+    private boolean warmTabNavigation = true;
+    private LocalDate pageLoadBenchmarkDate = LocalDate.now().minusDays(1);
+    /** Rows inserted per run by the write-benchmark job (both runs are rolled back). */
+    private int writeBenchmarkRows = 5000;
+
+    /** "dom" parses the rendered table, "json" reads the racing-info API responses and falls back to the DOM. */
+    private String captureMode = "dom";
+
+    /** "browser" loads every page in Chromium, "http" fetches the racing-info API first and uses the browser only for what failed. */
+    private String fetchMode = "browser";
+    private int httpConcurrency = 8;
+
+    /** "script" reads startlist rows in the browser with one evaluate call, "jsoup" parses a page snapshot. */
+    private String rowExtraction = "script";
+    /** Also parse a snapshot when the script is used and log where the two disagree. */
+    private boolean rowExtractionParityCheck = false;
+
+    /** Open all "Mer info" panels of a lap at once and parse them on {@code popupParseThreads} threads. */
+    private boolean popupBulkExtraction = true;
+    private int popupParseThreads = 2;
+
+    /** Blocking preset for every browser tab: off, media, lean or strict (see NetworkProfile); the lists below extend it. */
+    private String networkProfile = "media";
+    private List<String> networkBlockedResourceTypes = new ArrayList<>();
+    private List<String> networkBlockedDomains = new ArrayList<>();
+    private List<String> networkAllowedDomains = new ArrayList<>();
+    /** Count fetched requests/bytes and blocked requests per page. */
+    private boolean networkAccounting = true;
+
+    /** "incremental" recomputes double_gangers only for dates changed since the last run, "full" rebuilds the table. */
+    private String doubleGangerRefresh = "incremental";
+    /** The incremental refresh re-reads rows stamped this long before its watermark, for commits that land late. */
+    private int doubleGangerWatermarkMarginSeconds = 600;
+
+    /** Hand scraped rows to the WriteBehind writer thread instead of writing them on the scraping thread. */
+    private boolean writeBehind = true;
+    /** Rows that may wait in the queue before scrapers block. */
+    private int writeBehindMaxRows = 5000;
+    /** A write transaction closes at this many rows, or after {@code writeBehindFlushMillis} of gathering. */
+    private int writeBehindFlushRows = 1000;
+    private long writeBehindFlushMillis = 500;
+
+    /** ResultKeyCache starts over when it holds this many resultat rows. */
+    private int resultCacheMaxRows = 500_000;
+
+    /** Skip laps and departments that scrape_checkpoint marks as done (--scraper.resume after an interrupted run). */
+    private boolean resume = false;
+    /** Checkpoints older than this are scraped again even when resuming. */
+    private int resumeMaxAgeHours = 24;
+
+    public boolean isJsonCapture() {
+        return "json".equalsIgnoreCase(captureMode);
+    }
+
+    public boolean isHttpFetch() {
+        return "http".equalsIgnoreCase(fetchMode);
+    }
+
+    public boolean isScriptRowExtraction() {
+        return "script".equalsIgnoreCase(rowExtraction);
+    }
+
+    public boolean isIncrementalDoubleGangers() {
+        return "incremental".equalsIgnoreCase(doubleGangerRefresh);
+    }
 }
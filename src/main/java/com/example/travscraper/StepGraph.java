@@ -0,0 +1,180 @@
+package com.example.travscraper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steps of a job with declared dependencies. {@link #run} starts every step whose dependencies have finished,
+ * at most {@code parallelism} at a time, so independent steps overlap and the job takes as long as its longest
+ * dependency chain. A failed step skips the steps that depend on it; the others still run, and the first failure
+ * is thrown once the graph is done. Each step logs its own time, and the job logs wall-clock time against the
+ * critical path. {@link #only} limits the graph to the named steps; dependencies on left-out steps are dropped.
+ */
+@Slf4j
+class StepGraph {
+
+    @FunctionalInterface
+    interface Step {
+        void run() throws Exception;
+    }
+
+    private record Node(String name, List<String> after, Step step) {
+    }
+
+    private record Done(String name, long millis, Exception failure) {
+    }
+
+    private final String job;
+    private final int parallelism;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Set<String> leftOut = new HashSet<>();
+    private Set<String> enabled;
+
+    StepGraph(String job, int parallelism) {
+        this.job = job;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Runs only the named steps (case-insensitive); must be called before the steps are added.
+     */
+    StepGraph only(Collection<String> names) {
+        if (!nodes.isEmpty() || !leftOut.isEmpty()) throw new IllegalStateException("only() must come before step()");
+        enabled = new HashSet<>();
+        names.forEach(name -> enabled.add(name.trim().toLowerCase(Locale.ROOT)));
+        return this;
+    }
+
+    /**
+     * Adds a step that starts once every step in {@code after} has finished; those must be added first.
+     */
+    StepGraph step(String name, Step step, String... after) {
+        if (nodes.containsKey(name) || leftOut.contains(name)) {
+            throw new IllegalArgumentException("Step '" + name + "' added twice");
+        }
+        List<String> dependencies = new ArrayList<>();
+        for (String dependency : after) {
+            if (nodes.containsKey(dependency)) {
+                dependencies.add(dependency);
+            } else if (!leftOut.contains(dependency)) {
+                throw new IllegalArgumentException("Step '" + name + "' depends on unknown step '" + dependency + "'");
+            }
+        }
+        if (enabled != null && !enabled.contains(name.toLowerCase(Locale.ROOT))) {
+            leftOut.add(name);
+            return this;
+        }
+        nodes.put(name, new Node(name, List.copyOf(dependencies), step));
+        return this;
+    }
+
+    void run() {
+        if (enabled != null) {
+            Set<String> unknown = new HashSet<>(enabled);
+            nodes.keySet().forEach(name -> unknown.remove(name.toLowerCase(Locale.ROOT)));
+            leftOut.forEach(name -> unknown.remove(name.toLowerCase(Locale.ROOT)));
+            if (!unknown.isEmpty()) throw new IllegalArgumentException("Unknown step(s) in " + job + ": " + unknown);
+            if (!leftOut.isEmpty()) log.info("⏭️  {}: not configured to run {}", job, leftOut);
+        }
+        if (nodes.isEmpty()) return;
+
+        Map<String, Done> done = new HashMap<>();
+        List<String> pending = new ArrayList<>(nodes.keySet());
+        int running = 0;
+        Exception firstFailure = null;
+        String firstFailed = null;
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, nodes.size()),
+                new CustomizableThreadFactory(job + "-step-"));
+        CompletionService<Done> completions = new ExecutorCompletionService<>(executor);
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                for (var it = pending.iterator(); it.hasNext() && running < parallelism; ) {
+                    Node node = nodes.get(it.next());
+                    if (node.after().stream().anyMatch(d -> done.containsKey(d) && done.get(d).failure() != null)) {
+                        log.warn("⏭️  Skipping scraper step '{}': a step it depends on failed", node.name());
+                        done.put(node.name(), new Done(node.name(), 0, new IllegalStateException("skipped")));
+                        it.remove();
+                        continue;
+                    }
+                    if (!done.keySet().containsAll(node.after())) continue;
+
+                    it.remove();
+                    running++;
+                    completions.submit(() -> runStep(node));
+                }
+                if (running == 0) continue;
+
+                Done finished = completions.take().get();
+                running--;
+                done.put(finished.name(), finished);
+                if (finished.failure() != null && firstFailure == null) {
+                    firstFailure = finished.failure();
+                    firstFailed = finished.name();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running " + job, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Step runner failed in " + job, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long wall = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long sum = done.values().stream().mapToLong(Done::millis).sum();
+        log.info("⏱️  {}: {} ms wall clock, {} ms of steps, critical path {} ms (parallelism {})",
+                job, wall, sum, criticalPath(done), parallelism);
+
+        if (firstFailure != null) {
+            throw new IllegalStateException("Scraper step failed: " + firstFailed, firstFailure);
+        }
+    }
+
+    private Done runStep(Node node) {
+        log.info("Running scraper step '{}'", node.name());
+        long started = System.nanoTime();
+        Exception failure = null;
+        try {
+            node.step().run();
+        } catch (Exception e) {
+            failure = e;
+            log.error("❌ Scraper step '{}' failed: {}", node.name(), e.getMessage(), e);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (failure == null) log.info("✅ Scraper step '{}' took {} ms", node.name(), millis);
+        return new Done(node.name(), millis, failure);
+    }
+
+    /** Longest chain of step times through the dependencies (steps are in dependency order). */
+    private long criticalPath(Map<String, Done> done) {
+        Map<String, Long> finish = new HashMap<>();
+        long longest = 0;
+        for (Node node : nodes.values()) {
+            long start = node.after().stream().mapToLong(d -> finish.getOrDefault(d, 0L)).max().orElse(0);
+            long end = start + (done.containsKey(node.name()) ? done.get(node.name()).millis() : 0);
+            finish.put(node.name(), end);
+            longest = Math.max(longest, end);
+        }
+        return longest;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.travscraper;
 
+import com.example.travscraper.browser.PageLoadBenchmark;
 import com.example.travscraper.service.DoubleGangerService;
 import com.example.travscraper.service.HorseWarningService;
 import com.example.travscraper.service.ReducedScraperService;
 import com.example.travscraper.service.ReducedTrioScraping;
 import com.example.travscraper.service.Tid99WarningService;
+import com.example.travscraper.service.WriteBenchmark;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -20,7 +22,12 @@ import java.util.List;
 public class TravScraperApplication implements ApplicationRunner {
 
     private static final String SCRAPER_JOB_OPTION = "scraper.job";
+    private static final String RESUME_OPTION = "scraper.resume";
     private static final String DAILY_JOB = "daily";
+    private static final String PAGE_LOAD_BENCHMARK_JOB = "page-load-benchmark";
+    private static final String WRITE_BENCHMARK_JOB = "write-benchmark";
+    private static final String TID99_RECONCILE_JOB = "tid99-reconcile";
+    private static final String START_COUNTER_RECONCILE_JOB = "horse-start-counter-reconcile";
 
     private final AtgScraperService service;
     private final HorseWarningService horseWarningService;
@@ -28,14 +35,20 @@ public class TravScraperApplication implements ApplicationRunner {
     private final ReducedScraperService reducedScraperService;
     private final ReducedTrioScraping reducedTrioScraping;
     private final Tid99WarningService tid99WarningService;
+    private final PageLoadBenchmark pageLoadBenchmark;
+    private final WriteBenchmark writeBenchmark;
+    private final ScraperProperties props;
 
-    public TravScraperApplication(AtgScraperService service, HorseWarningService horseWarningService, DoubleGangerService doubleGangerService, ReducedScraperService reducedScraperService, ReducedTrioScraping reducedTrioScraping, Tid99WarningService tid99WarningService) {
+    public TravScraperApplication(AtgScraperService service, HorseWarningService horseWarningService, DoubleGangerService doubleGangerService, ReducedScraperService reducedScraperService, ReducedTrioScraping reducedTrioScraping, Tid99WarningService tid99WarningService, PageLoadBenchmark pageLoadBenchmark, WriteBenchmark writeBenchmark, ScraperProperties props) {
         this.service = service;
         this.horseWarningService = horseWarningService;
         this.doubleGangerService = doubleGangerService;
         this.reducedScraperService = reducedScraperService;
         this.reducedTrioScraping = reducedTrioScraping;
         this.tid99WarningService = tid99WarningService;
+        this.pageLoadBenchmark = pageLoadBenchmark;
+        this.writeBenchmark = writeBenchmark;
+        this.props = props;
     }
 
     public static void main(String[] args) {
@@ -57,13 +70,40 @@ public class TravScraperApplication implements ApplicationRunner {
     @Override
     public void run(ApplicationArguments args) {
         String job = scraperJob(args);
-        if (!DAILY_JOB.equalsIgnoreCase(job)) {
-            throw new IllegalArgumentException("Unsupported scraper job '" + job + "'. Use --scraper.job=daily.");
+        if (resumeRequested(args)) {
+            props.setResume(true);
+            log.info("▶️  Resuming: laps and departments in scrape_checkpoint are skipped");
+        }
+        if (DAILY_JOB.equalsIgnoreCase(job)) {
+            if (props.getDailySteps().isEmpty()) {
+                throw new IllegalArgumentException("Scraper job '" + DAILY_JOB
+                        + "' has no steps. Set --scraper.daily-steps.");
+            }
+            log.info("Starting scraper job '{}'", DAILY_JOB);
+            runDailyJob();
+            log.info("Finished scraper job '{}'", DAILY_JOB);
+        } else if (PAGE_LOAD_BENCHMARK_JOB.equalsIgnoreCase(job)) {
+            log.info("Starting scraper job '{}'", PAGE_LOAD_BENCHMARK_JOB);
+            runStep("page-load benchmark", () -> pageLoadBenchmark.run(props.getPageLoadBenchmarkDate()));
+            log.info("Finished scraper job '{}'", PAGE_LOAD_BENCHMARK_JOB);
+        } else if (WRITE_BENCHMARK_JOB.equalsIgnoreCase(job)) {
+            log.info("Starting scraper job '{}'", WRITE_BENCHMARK_JOB);
+            runStep("write benchmark", () -> writeBenchmark.run(props.getWriteBenchmarkRows()));
+            log.info("Finished scraper job '{}'", WRITE_BENCHMARK_JOB);
+        } else if (TID99_RECONCILE_JOB.equalsIgnoreCase(job)) {
+            log.info("Starting scraper job '{}'", TID99_RECONCILE_JOB);
+            runStep("tid 99 warnings", tid99WarningService::refreshTid99Warnings);
+            log.info("Finished scraper job '{}'", TID99_RECONCILE_JOB);
+        } else if (START_COUNTER_RECONCILE_JOB.equalsIgnoreCase(job)) {
+            log.info("Starting scraper job '{}'", START_COUNTER_RECONCILE_JOB);
+            runStep("horse start counters", horseWarningService::reconcileStartCounters);
+            log.info("Finished scraper job '{}'", START_COUNTER_RECONCILE_JOB);
+        } else {
+            throw new IllegalArgumentException("Unsupported scraper job '" + job + "'. Use --scraper.job="
+                    + DAILY_JOB + ", --scraper.job=" + PAGE_LOAD_BENCHMARK_JOB + ", --scraper.job="
+                    + WRITE_BENCHMARK_JOB + ", --scraper.job=" + TID99_RECONCILE_JOB + " or --scraper.job="
+                    + START_COUNTER_RECONCILE_JOB + ".");
         }
-
-        log.info("Starting scraper job '{}'", DAILY_JOB);
-        runDailyJob();
-        log.info("Finished scraper job '{}'", DAILY_JOB);
     }
 
     private String scraperJob(ApplicationArguments args) {
@@ -82,17 +122,41 @@ public class TravScraperApplication implements ApplicationRunner {
                 .orElse("");
     }
 
+    /** A bare --scraper.resume has no value, which the property binder would not read as true. */
+    private boolean resumeRequested(ApplicationArguments args) {
+        if (!args.containsOption(RESUME_OPTION)) return props.isResume();
+        List<String> values = args.getOptionValues(RESUME_OPTION);
+        return values == null || values.isEmpty()
+                || values.stream().anyMatch(value -> value == null || value.isBlank() || Boolean.parseBoolean(value));
+    }
+
+    /**
+     * The scrapers don't depend on each other; only the tables derived from resultat wait for the steps that
+     * write it (future starts too: it creates resultat rows on some tracks). Only the steps listed in
+     * {@code scraper.daily-steps} run; by default that is the tid 99 rebuild alone, as before the graph.
+     */
     private void runDailyJob() {
+        new StepGraph(DAILY_JOB, dailyParallelism())
+                .only(props.getDailySteps())
+                .step("reduced games", reducedScraperService::scrapeAllReducedGames)
+                .step("reduced trio", reducedTrioScraping::scrapeTrio)
+                .step("future starts", service::scrapeFuture)
+                .step("result popups", service::scrapeResultatPopupsOnly)
+                .step("results", service::scrape)
+                .step("foreign results", service::scrapeForeign)
+                .step("double gangers", doubleGangerService::refreshDoubleGangers,
+                        "future starts", "result popups", "results", "foreign results")
+                .step("horse warnings", () -> horseWarningService.refreshWarnings(8),
+                        "future starts", "result popups", "results", "foreign results")
+                .step("tid 99 warnings", tid99WarningService::refreshTid99Warnings,
+                        "future starts", "result popups", "results", "foreign results")
+                .run();
+    }
 
-        //runStep("reduced games", reducedScraperService::scrapeAllReducedGames);
-        //runStep("reduced trio", reducedTrioScraping::scrapeTrio);
-        //runStep("future starts", service::scrapeFuture);
-        //runStep("result popups", service::scrapeResultatPopupsOnly);
-        //runStep("results", service::scrape);
-        //runStep("foreign results", service::scrapeForeign);
-        //runStep("double gangers", doubleGangerService::refreshDoubleGangers);
-       // runStep("horse warnings", () -> horseWarningService.refreshWarnings(8));
-        runStep("tid 99 warnings", tid99WarningService::refreshTid99Warnings);
+    /** Browser steps share the BrowserPool, so by default only as many run at once as the pool has room for. */
+    private int dailyParallelism() {
+        if (props.getDailyParallelism() > 0) return props.getDailyParallelism();
+        return Math.max(1, props.getBrowserPoolSize() / Math.max(1, props.getTrackConcurrency()));
     }
 
     private void runStep(String name, ScraperStep step) {
@@ -0,0 +1,212 @@
+package com.example.travscraper.atg;
+
+import com.example.travscraper.ScraperProperties;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Browserless access to ATG's racing-info API: pooled keep-alive connections, HTTP/2 where the server offers
+ * it, gzip, and many requests in flight. Every call answers empty instead of failing, so callers can fall back
+ * to the browser per request. After a few blocked answers (403/429 or an HTML challenge page) the client
+ * switches itself off for the rest of the run.
+ */
+@Slf4j
+@Component
+public class AtgApiClient {
+
+    private static final String BASE_URL = "https://www.atg.se/services/racinginfo/v1/api";
+    private static final int MAX_BLOCKED_RESPONSES = 5;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ScraperProperties props;
+    private final AtgGameJson atgGameJson;
+    private final ConnectionProvider connections;
+    private final WebClient webClient;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger blocked = new AtomicInteger();
+
+    public AtgApiClient(ScraperProperties props, AtgGameJson atgGameJson) {
+        this.props = props;
+        this.atgGameJson = atgGameJson;
+        this.connections = ConnectionProvider.builder("atg-api")
+                .maxConnections(Math.max(1, props.getHttpConcurrency()))
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connections)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .secure()
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
+                .responseTimeout(Duration.ofSeconds(20));
+
+        this.webClient = WebClient.builder()
+                .baseUrl(BASE_URL)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.ACCEPT_LANGUAGE, "sv-SE,sv;q=0.9")
+                .defaultHeader(HttpHeaders.USER_AGENT,
+                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+                                "AppleWebKit/537.36 (KHTML, like Gecko) " +
+                                "Chrome/125.0.0.0 Safari/537.36")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(8 * 1024 * 1024))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return props.isHttpFetch() && blocked.get() < MAX_BLOCKED_RESPONSES;
+    }
+
+    /**
+     * Every race of the wanted tracks on {@code date}, fetched once per product:
+     * track name -> race number -> product -> race. Each race of a wanted track is present, possibly with
+     * fewer products when a fetch failed. Null when the client is off or the calendar could not be fetched.
+     */
+    public Map<String, Map<Integer, Map<String, AtgRace>>> fetchRaces(LocalDate date, Predicate<String> wantedTrack,
+                                                                      List<String> products) {
+        if (!isEnabled()) return null;
+
+        String calendar = get("/calendar/day/" + date).block();
+        if (calendar == null) return null;
+
+        record GameRequest(String trackName, int number, String product, String gameId) {
+        }
+
+        Map<String, Map<Integer, Map<String, AtgRace>>> racesByTrack = new LinkedHashMap<>();
+        List<GameRequest> requestsToSend = new ArrayList<>();
+        for (AtgCalendarTrack track : atgGameJson.calendarTracks(calendar)) {
+            if (!wantedTrack.test(track.name())) continue;
+
+            Map<Integer, Map<String, AtgRace>> byNumber = racesByTrack.computeIfAbsent(track.name(), k -> new LinkedHashMap<>());
+            for (int number : track.raceNumbers()) {
+                byNumber.put(number, new LinkedHashMap<>());
+                for (String product : products) {
+                    requestsToSend.add(new GameRequest(track.name(), number, product,
+                            product + "_" + date + "_" + track.id() + "_" + number));
+                }
+            }
+        }
+
+        List<Map.Entry<GameRequest, String>> bodies = Flux.fromIterable(requestsToSend)
+                .flatMap(request -> get("/games/" + request.gameId()).map(body -> Map.entry(request, body)),
+                        Math.max(1, props.getHttpConcurrency()))
+                .collectList()
+                .block();
+
+        for (Map.Entry<GameRequest, String> entry : bodies == null ? List.<Map.Entry<GameRequest, String>>of() : bodies) {
+            GameRequest request = entry.getKey();
+            AtgRace race = atgGameJson.race(entry.getValue(), request.product(), date, request.number());
+            if (race != null) {
+                racesByTrack.get(request.trackName()).get(request.number()).put(request.product(), race);
+            }
+        }
+
+        log.info("🛰️  Fetched {} racing-info game(s) for {} track(s) on {} over HTTP",
+                requestsToSend.size(), racesByTrack.size(), date);
+        return racesByTrack;
+    }
+
+    /**
+     * The legs of every game of the given types on {@code date}: game id -> legs in department order. A game
+     * whose fetch failed maps to an empty list. Null when the client is off or the calendar could not be fetched.
+     */
+    public Map<String, List<AtgRace>> fetchGames(LocalDate date, Collection<String> gameTypes) {
+        if (!isEnabled()) return null;
+
+        String calendar = get("/calendar/day/" + date).block();
+        if (calendar == null) return null;
+
+        Map<String, String> typeByGameId = new LinkedHashMap<>();
+        for (String gameType : gameTypes) {
+            for (String gameId : atgGameJson.calendarGameIds(calendar, gameType)) {
+                typeByGameId.put(gameId, gameType);
+            }
+        }
+
+        Map<String, List<AtgRace>> legsByGameId = new LinkedHashMap<>();
+        typeByGameId.keySet().forEach(gameId -> legsByGameId.put(gameId, List.of()));
+
+        List<Map.Entry<String, String>> bodies = Flux.fromIterable(typeByGameId.keySet())
+                .flatMap(gameId -> get("/games/" + gameId).map(body -> Map.entry(gameId, body)),
+                        Math.max(1, props.getHttpConcurrency()))
+                .collectList()
+                .block();
+
+        for (Map.Entry<String, String> entry : bodies == null ? List.<Map.Entry<String, String>>of() : bodies) {
+            legsByGameId.put(entry.getKey(), atgGameJson.races(entry.getValue(), typeByGameId.get(entry.getKey())));
+        }
+        return legsByGameId;
+    }
+
+    private Mono<String> get(String path) {
+        if (!isEnabled()) return Mono.empty();
+        requests.incrementAndGet();
+
+        return webClient.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(REQUEST_TIMEOUT)
+                .flatMap(body -> {
+                    if (body.stripLeading().startsWith("{") || body.stripLeading().startsWith("[")) return Mono.just(body);
+                    blocked(path, "non-JSON answer");
+                    return Mono.<String>empty();
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    int status = e.getStatusCode().value();
+                    if (status == 403 || status == 429) {
+                        blocked(path, "HTTP " + status);
+                    } else {
+                        failures.incrementAndGet();
+                        log.debug("🛰️  {} answered HTTP {}", path, status);
+                    }
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    failures.incrementAndGet();
+                    log.debug("🛰️  {} failed: {}", path, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private void blocked(String path, String reason) {
+        if (blocked.incrementAndGet() == MAX_BLOCKED_RESPONSES) {
+            log.warn("🛰️  Racing-info API blocked us ({} on {}), using the browser for the rest of the run", reason, path);
+        } else {
+            log.debug("🛰️  {} blocked: {}", path, reason);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        connections.dispose();
+        if (requests.get() > 0) {
+            log.info("🛰️  Racing-info API: {} request(s), {} failed, {} blocked",
+                    requests.get(), failures.get(), blocked.get());
+        }
+    }
+}
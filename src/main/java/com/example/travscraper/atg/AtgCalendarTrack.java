@@ -0,0 +1,6 @@
+package com.example.travscraper.atg;
+
+import java.util.List;
+
+public record AtgCalendarTrack(int id, String name, List<Integer> raceNumbers) {
+}
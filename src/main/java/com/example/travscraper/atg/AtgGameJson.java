@@ -0,0 +1,211 @@
+package com.example.travscraper.atg;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps ATG racing-info payloads (a game with {@code races[]}, or a single race with {@code starts[]}) onto
+ * {@link AtgRace}/{@link AtgStart}. Odds and bet distribution come in hundredths and are rendered the way
+ * the site shows them ("12,34"), so both the DOM and the API path persist the same strings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AtgGameJson {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The race with the given date and number, read through {@code product}'s pool, or null when the payload
+     * does not contain it (or is not a game/race payload at all).
+     */
+    public AtgRace race(String body, String product, LocalDate date, int number) {
+        for (AtgRace race : races(body, product)) {
+            if (race.number() == number && (race.date() == null || race.date().equals(date))) return race;
+        }
+        return null;
+    }
+
+    public List<AtgRace> races(String body, String product) {
+        JsonNode root = readOrNull(body);
+        if (root == null) return List.of();
+
+        List<AtgRace> races = new ArrayList<>();
+        if (root.path("races").isArray()) {
+            for (JsonNode race : root.path("races")) races.add(toRace(race, product));
+        } else if (root.path("starts").isArray()) {
+            races.add(toRace(root, product));
+        }
+        return races;
+    }
+
+    /**
+     * Tracks racing on a calendar day ({@code /calendar/day/{date}}), with their race numbers.
+     */
+    public List<AtgCalendarTrack> calendarTracks(String body) {
+        JsonNode root = readOrNull(body);
+        if (root == null) return List.of();
+
+        List<AtgCalendarTrack> tracks = new ArrayList<>();
+        for (JsonNode track : root.path("tracks")) {
+            List<Integer> raceNumbers = new ArrayList<>();
+            for (JsonNode race : track.path("races")) {
+                int number = race.path("number").asInt(0);
+                if (number > 0) raceNumbers.add(number);
+            }
+            tracks.add(new AtgCalendarTrack(track.path("id").asInt(0), track.path("name").asText(""), raceNumbers));
+        }
+        return tracks;
+    }
+
+    /**
+     * Ids of the games of one type (V86, V64, ...) on a calendar day.
+     */
+    public List<String> calendarGameIds(String body, String gameType) {
+        JsonNode root = readOrNull(body);
+        if (root == null) return List.of();
+
+        List<String> ids = new ArrayList<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = root.path("games").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            if (!entry.getKey().equalsIgnoreCase(gameType)) continue;
+            for (JsonNode game : entry.getValue()) {
+                String id = game.path("id").asText("");
+                if (!id.isBlank()) ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private JsonNode readOrNull(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            log.debug("🛰️  Ignoring non-JSON racing-info body: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private AtgRace toRace(JsonNode race, String product) {
+        List<AtgStart> starts = new ArrayList<>();
+        for (JsonNode start : race.path("starts")) {
+            starts.add(toStart(start, product));
+        }
+
+        List<String> combination = new ArrayList<>();
+        String combinationOdds = null;
+        JsonNode winner = findCombination(pool(race, product).path("result"));
+        if (winner != null) {
+            JsonNode combo = winner.path("combination");
+            if (combo.isArray()) {
+                for (JsonNode n : combo) combination.add(n.asText());
+            } else {
+                for (String n : combo.asText("").split("\\D+")) {
+                    if (!n.isBlank()) combination.add(n);
+                }
+            }
+            combinationOdds = formatHundredths(winner.path("odds"));
+        }
+
+        return new AtgRace(
+                dateOf(race),
+                race.path("number").asInt(0),
+                race.path("track").path("name").asText(""),
+                race.path("status").asText(""),
+                intOrNull(race.path("distance")),
+                starts,
+                combination,
+                combinationOdds
+        );
+    }
+
+    private AtgStart toStart(JsonNode start, String product) {
+        JsonNode pool = pool(start, product);
+        JsonNode result = start.path("result");
+
+        String odds = formatHundredths(pool.path("odds"));
+        if (odds.isEmpty()) odds = formatHundredths(result.path("finalOdds"));
+        if (odds.isEmpty() && pool.has("minOdds")) {
+            String min = formatHundredths(pool.path("minOdds"));
+            String max = formatHundredths(pool.path("maxOdds"));
+            odds = max.isEmpty() || max.equals(min) ? min : min + "-" + max;
+        }
+
+        JsonNode driver = start.path("driver");
+        String driverName = (driver.path("firstName").asText("") + " " + driver.path("lastName").asText("")).trim();
+
+        int finishOrder = result.path("finishOrder").asInt(0);
+        int place = result.path("place").asInt(0);
+        String placement = finishOrder > 0 ? String.valueOf(finishOrder) : place > 0 ? String.valueOf(place) : "";
+
+        BigDecimal betDistribution = pool.path("betDistribution").isNumber()
+                ? BigDecimal.valueOf(pool.path("betDistribution").asLong(), 2)
+                : null;
+
+        return new AtgStart(
+                start.path("number").asText(""),
+                start.path("horse").path("name").asText(""),
+                driverName,
+                placement,
+                odds,
+                betDistribution,
+                intOrNull(start.path("distance")),
+                start.path("scratched").asBoolean(false)
+        );
+    }
+
+    private static JsonNode pool(JsonNode node, String product) {
+        JsonNode pools = node.path("pools");
+        for (Iterator<Map.Entry<String, JsonNode>> it = pools.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            if (entry.getKey().equalsIgnoreCase(product)) return entry.getValue();
+        }
+        return pools.path(product);
+    }
+
+    /**
+     * First object below {@code node} that carries both a combination and its odds.
+     */
+    private static JsonNode findCombination(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isValueNode()) return null;
+        if (node.isObject() && node.has("combination") && node.has("odds")) return node;
+        for (JsonNode child : node) {
+            JsonNode found = findCombination(child);
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    private static String formatHundredths(JsonNode node) {
+        if (node == null || !node.canConvertToLong()) return "";
+        long value = node.asLong();
+        if (value <= 0) return "";
+        return (value / 100) + "," + String.format("%02d", value % 100);
+    }
+
+    private static Integer intOrNull(JsonNode node) {
+        return node != null && node.canConvertToInt() && node.asInt() > 0 ? node.asInt() : null;
+    }
+
+    private static LocalDate dateOf(JsonNode race) {
+        String raw = race.path("date").asText(race.path("startTime").asText(""));
+        if (raw.length() < 10) return null;
+        try {
+            return LocalDate.parse(raw.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.travscraper.atg;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One race from an ATG racing-info game payload, seen through a single betting product.
+ */
+public record AtgRace(
+        LocalDate date,
+        int number,
+        String trackName,
+        String status,
+        Integer distance,
+        List<AtgStart> starts,
+        List<String> winningCombination,
+        String combinationOdds
+) {
+
+    public boolean isCancelled() {
+        return status != null && status.toLowerCase().contains("cancel");
+    }
+
+    /**
+     * Start number to combination odds for every horse in the winning trio/tvilling combination.
+     */
+    public Map<String, String> combinationOddsByNumber() {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (combinationOdds == null || combinationOdds.isBlank()) return map;
+        for (String nr : winningCombination) map.put(nr, combinationOdds);
+        return map;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.travscraper.atg;
+
+import java.math.BigDecimal;
+
+/**
+ * One start in a race as ATG publishes it, with odds/placement already in the text form the pages show.
+ */
+public record AtgStart(
+        String number,
+        String horseName,
+        String driverName,
+        String placement,
+        String odds,
+        BigDecimal betDistribution,
+        Integer distance,
+        boolean scratched
+) {
+}
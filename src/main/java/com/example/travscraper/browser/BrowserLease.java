@@ -0,0 +1,39 @@
+package com.example.travscraper.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+/**
+ * Exclusive use of one pooled browser context. Close it to hand the browser back to the pool.
+ */
+public final class BrowserLease implements AutoCloseable {
+
+    private final BrowserPool pool;
+    private final BrowserPool.Slot slot;
+    private boolean broken;
+    private boolean released;
+
+    BrowserLease(BrowserPool pool, BrowserPool.Slot slot) {
+        this.pool = pool;
+        this.slot = slot;
+    }
+
+    public BrowserContext context() {
+        return slot.context();
+    }
+
+    public Page newPage() {
+        return slot.context().newPage();
+    }
+
+    public void markBroken() {
+        broken = true;
+    }
+
+    @Override
+    public void close() {
+        if (released) return;
+        released = true;
+        pool.release(slot, broken);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.travscraper.browser;
+
+import com.example.travscraper.ScraperProperties;
+import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.WaitUntilState;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns every headless Chromium the scrapers use. Each slot is one Playwright driver, one browser and one
+ * warm context; a slot is handed out to exactly one caller at a time, so Playwright's single-thread rule holds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BrowserPool {
+
+    private static final String WARM_UP_URL = "https://www.atg.se/spel/kalender";
+
+    private final ScraperProperties props;
+    private final NetworkAccounting networkAccounting;
+    private final BlockingQueue<Slot> idle = new LinkedBlockingQueue<>();
+    private final List<Slot> slots = new ArrayList<>();
+    private final AtomicInteger launches = new AtomicInteger();
+    private final AtomicInteger leases = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private boolean warmedUp;
+    private boolean closed;
+
+    public BrowserLease acquire() {
+        warmUpIfConfigured();
+
+        long started = System.nanoTime();
+        Slot slot = awaitSlot(started);
+        waitNanos.addAndGet(System.nanoTime() - started);
+
+        if (!slot.isHealthy()) {
+            log.warn("🖥️  Browser slot {} failed health check, relaunching", slot.id);
+            slot = relaunch(slot);
+        }
+
+        leases.incrementAndGet();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        return new BrowserLease(this, slot);
+    }
+
+    void release(Slot slot, boolean broken) {
+        inUse.decrementAndGet();
+
+        if (!broken) {
+            try {
+                for (Page page : slot.ctx.pages()) page.close();
+            } catch (PlaywrightException e) {
+                broken = true;
+            }
+        }
+
+        if (broken || !slot.isHealthy()) {
+            log.warn("🖥️  Browser slot {} returned unhealthy, closing it", slot.id);
+            synchronized (this) {
+                slots.remove(slot);
+            }
+            slot.close();
+            return;
+        }
+
+        idle.add(slot);
+    }
+
+    private synchronized void warmUpIfConfigured() {
+        if (warmedUp || !props.isBrowserPoolWarmUp()) return;
+        warmedUp = true;
+
+        long started = System.nanoTime();
+        while (slots.size() < poolSize()) {
+            Slot slot = launch();
+            slots.add(slot);
+            try (Page page = slot.ctx.newPage()) {
+                page.navigate(WARM_UP_URL, new Page.NavigateOptions()
+                        .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                        .setTimeout(30_000));
+            } catch (PlaywrightException e) {
+                log.warn("🖥️  Warm-up navigation failed for slot {}: {}", slot.id, e.getMessage());
+            }
+            idle.add(slot);
+        }
+        log.info("🖥️  Browser pool warmed up with {} slot(s) in {} ms",
+                slots.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private synchronized Slot launchIfBelowBudget() {
+        if (closed) throw new IllegalStateException("Browser pool is closed");
+        if (slots.size() >= poolSize()) return null;
+
+        Slot slot = launch();
+        slots.add(slot);
+        return slot;
+    }
+
+    private Slot awaitSlot(long started) {
+        long deadline = started + TimeUnit.SECONDS.toNanos(props.getBrowserPoolAcquireTimeoutSeconds());
+        try {
+            while (true) {
+                Slot slot = idle.poll();
+                if (slot == null) slot = launchIfBelowBudget();
+                if (slot == null) slot = idle.poll(1, TimeUnit.SECONDS);
+                if (slot != null) return slot;
+
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No browser available within "
+                            + props.getBrowserPoolAcquireTimeoutSeconds() + " s (pool size " + poolSize() + ")");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser", e);
+        }
+    }
+
+    private synchronized Slot relaunch(Slot broken) {
+        slots.remove(broken);
+        broken.close();
+
+        Slot slot = launch();
+        slots.add(slot);
+        return slot;
+    }
+
+    private Slot launch() {
+        int id = launches.incrementAndGet();
+        long started = System.nanoTime();
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(
+                new BrowserType.LaunchOptions()
+                        .setHeadless(true)
+                        .setArgs(List.of("--disable-blink-features=AutomationControlled"))
+        );
+        BrowserContext ctx = newContext(browser);
+
+        log.info("🖥️  Headless browser {} launched in {} ms ({} / {} slot(s))",
+                id, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), slots.size() + 1, poolSize());
+        return new Slot(id, playwright, browser, ctx);
+    }
+
+    private BrowserContext newContext(Browser browser) {
+        BrowserContext ctx = browser.newContext(
+                new Browser.NewContextOptions()
+                        .setLocale("sv-SE")
+                        .setTimezoneId("Europe/Stockholm")
+                        .setGeolocation(59.33, 18.06)
+                        .setPermissions(List.of("geolocation"))
+                        .setViewportSize(1600, 900)
+                        .setUserAgent(
+                                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+                                        "AppleWebKit/537.36 (KHTML, like Gecko) " +
+                                        "Chrome/125.0.0.0 Safari/537.36")
+        );
+
+        networkAccounting.apply(ctx);
+
+        ctx.addInitScript("""
+                  () => {
+                    try { Object.defineProperty(navigator, 'webdriver', { get: () => undefined }); } catch(e) {}
+                    try { Object.defineProperty(navigator, 'languages', { get: () => ['sv-SE','sv','en-US','en'] }); } catch(e) {}
+                    try { Object.defineProperty(navigator, 'plugins', { get: () => [1,2,3,4,5] }); } catch(e) {}
+
+                    const tryClick = () => {
+                      const patterns = [
+                        /Jag\\s*f(ö|o)rst(å|a)r/i,
+                        /Godk(ä|a)nn\\s+alla\\s+cookies/i,
+                        /Endast\\s+n(ö|o)dv(ä|a)ndiga/i,
+                        /Tillåt\\s+alla/i,
+                        /Avvisa/i
+                      ];
+                      try {
+                        const btn = [...document.querySelectorAll('button')]
+                          .find(b => patterns.some(rx => rx.test(b.textContent)));
+                        if (btn) btn.click();
+                      } catch (_) {}
+                    };
+                    tryClick();
+                    setTimeout(tryClick, 400);
+                    setTimeout(tryClick, 4000);
+                  }
+                """);
+        return ctx;
+    }
+
+    private int poolSize() {
+        return Math.max(1, props.getBrowserPoolSize());
+    }
+
+    @PreDestroy
+    synchronized void closeAll() {
+        closed = true;
+        for (Slot slot : slots) slot.close();
+        slots.clear();
+        idle.clear();
+
+        if (leases.get() > 0) {
+            log.info("🖥️  Browser pool closed: {} launch(es), {} lease(s), peak {} in use, {} ms total lease wait",
+                    launches.get(), leases.get(), peakInUse.get(), TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+        }
+    }
+
+    static final class Slot {
+        private final int id;
+        private final Playwright playwright;
+        private final Browser browser;
+        private final BrowserContext ctx;
+
+        private Slot(int id, Playwright playwright, Browser browser, BrowserContext ctx) {
+            this.id = id;
+            this.playwright = playwright;
+            this.browser = browser;
+            this.ctx = ctx;
+        }
+
+        BrowserContext context() {
+            return ctx;
+        }
+
+        private boolean isHealthy() {
+            try {
+                return browser.isConnected();
+            } catch (PlaywrightException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            try {
+                ctx.close();
+            } catch (PlaywrightException ignored) {
+            }
+            try {
+                browser.close();
+            } catch (PlaywrightException ignored) {
+            }
+            try {
+                playwright.close();
+            } catch (PlaywrightException ignored) {
+            }
+        }
+    }
+}
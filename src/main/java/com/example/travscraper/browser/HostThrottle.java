@@ -0,0 +1,76 @@
+package com.example.travscraper.browser;
+
+import com.example.travscraper.ScraperProperties;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Politeness cap shared by every scraper thread: at most
+ * {@code scraper.max-concurrent-navigations-per-host} page loads may be in flight against one host.
+ * {@link #navigate} holds a permit until the navigation returns. A caller that navigates with
+ * {@code WaitUntilState.COMMIT} and waits for the content itself holds a {@link Permit} from {@link #acquire}
+ * until then, so the permit covers the whole load.
+ */
+@Component
+@RequiredArgsConstructor
+public class HostThrottle {
+
+    private final ScraperProperties props;
+    private final ConcurrentMap<String, Semaphore> permitsByHost = new ConcurrentHashMap<>();
+
+    public Response navigate(Page page, String url, Page.NavigateOptions options) {
+        try (Permit ignored = acquire(url, 1)) {
+            return page.navigate(url, options);
+        }
+    }
+
+    /**
+     * Takes the permits for {@code loads} page loads against the URL's host at once, so callers holding some
+     * never wait on each other for the rest. More loads than the cap take all of it.
+     */
+    public Permit acquire(String url, int loads) {
+        int cap = Math.max(1, props.getMaxConcurrentNavigationsPerHost());
+        Semaphore permits = permitsByHost.computeIfAbsent(hostOf(url), host -> new Semaphore(cap, true));
+        int count = Math.max(1, Math.min(loads, cap));
+        permits.acquireUninterruptibly(count);
+        return new Permit(permits, count);
+    }
+
+    /**
+     * Permits held for page loads in flight; released once by {@link #close}.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore permits;
+        private final int count;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore permits, int count) {
+            this.permits = permits;
+            this.count = count;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) permits.release(count);
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.travscraper.browser;
+
+import com.example.travscraper.ScraperProperties;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.options.Sizes;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@link NetworkProfile} to every context of the {@link BrowserPool} and counts, per page, the
+ * requests that were fetched (with their transferred bytes) and the requests that were blocked (by reason).
+ * Each closed page is logged at debug level; the run total is logged at shutdown. Blocked requests never go
+ * out, so their size is unknown: compare the fetched bytes of two profiles to see what one saves.
+ */
+@Slf4j
+@Component
+public class NetworkAccounting {
+
+    private final NetworkProfile profile;
+    private final boolean countBytes;
+    private final Traffic total = new Traffic();
+    private final Map<Page, Traffic> byPage = new WeakHashMap<>();
+
+    public NetworkAccounting(ScraperProperties props) {
+        this.profile = NetworkProfile.from(props);
+        this.countBytes = props.isNetworkAccounting();
+        log.info("🌐 Network profile {}", profile);
+    }
+
+    void apply(BrowserContext ctx) {
+        ctx.route("**/*", route -> {
+            Request request = route.request();
+            String reason = profile.blockReason(request.url(), request.resourceType());
+            if (reason == null) {
+                route.resume();
+                return;
+            }
+            route.abort();
+            blocked(request, reason);
+        });
+
+        if (countBytes) {
+            ctx.onPage(this::track);
+        }
+    }
+
+    private void track(Page page) {
+        Traffic traffic = new Traffic();
+        synchronized (byPage) {
+            byPage.put(page, traffic);
+        }
+
+        page.onRequestFinished(request -> {
+            long bytes = 0;
+            try {
+                Sizes sizes = request.sizes();
+                bytes = (long) sizes.responseHeadersSize + sizes.responseBodySize;
+            } catch (PlaywrightException ignored) {
+            }
+            traffic.fetched(bytes);
+            total.fetched(bytes);
+        });
+
+        page.onClose(closed -> {
+            synchronized (byPage) {
+                byPage.remove(closed);
+            }
+            if (traffic.requests() > 0) log.debug("🌐 {}: {}", closed.url(), traffic.summary());
+        });
+    }
+
+    private void blocked(Request request, String reason) {
+        total.blocked(reason);
+        if (!countBytes) return;
+
+        Traffic traffic = null;
+        try {
+            Page page = request.frame().page();
+            synchronized (byPage) {
+                traffic = byPage.get(page);
+            }
+        } catch (PlaywrightException ignored) {
+        }
+        if (traffic != null) traffic.blocked(reason);
+    }
+
+    @PreDestroy
+    void logTotals() {
+        if (total.requests() > 0) log.info("🌐 Network ({}): {}", profile.name(), total.summary());
+    }
+
+    private static final class Traffic {
+        private long fetchedRequests;
+        private long fetchedBytes;
+        private long blockedRequests;
+        private final Map<String, Long> blockedByKind = new HashMap<>();
+
+        synchronized void fetched(long bytes) {
+            fetchedRequests++;
+            fetchedBytes += Math.max(0, bytes);
+        }
+
+        synchronized void blocked(String reason) {
+            blockedRequests++;
+            String kind = reason.startsWith("type:") ? reason : reason.substring(0, reason.indexOf(':') + 1)
+                    + hostTail(reason.substring(reason.indexOf(':') + 1));
+            blockedByKind.merge(kind, 1L, Long::sum);
+        }
+
+        synchronized long requests() {
+            return fetchedRequests + blockedRequests;
+        }
+
+        synchronized String summary() {
+            String top = blockedByKind.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                    .limit(6)
+                    .map(e -> e.getKey() + " " + e.getValue())
+                    .collect(Collectors.joining(", "));
+            return String.format("fetched %d request(s) / %d KB, blocked %d request(s)%s",
+                    fetchedRequests, fetchedBytes / 1024, blockedRequests, top.isEmpty() ? "" : " [" + top + "]");
+        }
+
+        /**
+         * Registrable part of a host ({@code www.google-analytics.com} -> {@code google-analytics.com}), so the
+         * summary groups by site rather than by subdomain.
+         */
+        private static String hostTail(String host) {
+            int last = host.lastIndexOf('.');
+            int previous = last > 0 ? host.lastIndexOf('.', last - 1) : -1;
+            return previous >= 0 ? host.substring(previous + 1) : host;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.travscraper.browser;
+
+import com.example.travscraper.ScraperProperties;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Which requests a scraper tab may make. A preset ({@code scraper.network-profile}) gives the base lists and
+ * {@code scraper.network-blocked-resource-types}, {@code -blocked-domains} and {@code -allowed-domains} extend
+ * them. A domain matches itself and its subdomains; when the allow list is non-empty every other host is blocked.
+ * <ul>
+ *   <li>{@code off}: nothing is blocked</li>
+ *   <li>{@code media}: images, media and fonts (the scrapers never read them)</li>
+ *   <li>{@code lean}: media plus pings and known analytics/ad/tracking hosts</li>
+ *   <li>{@code strict}: lean plus stylesheets and every host outside atg.se</li>
+ * </ul>
+ */
+public final class NetworkProfile {
+
+    private static final List<String> MEDIA_TYPES = List.of("image", "media", "font");
+    private static final List<String> TRACKING_TYPES = List.of("ping");
+    private static final List<String> TRACKING_DOMAINS = List.of(
+            "google-analytics.com", "googletagmanager.com", "googlesyndication.com", "doubleclick.net",
+            "googleadservices.com", "facebook.net", "facebook.com", "connect.facebook.net", "hotjar.com",
+            "hotjar.io", "clarity.ms", "bing.com", "snapchat.com", "tiktok.com", "adform.net", "adnxs.com",
+            "criteo.com", "criteo.net", "cookielaw.org", "onetrust.com", "sentry.io", "newrelic.com",
+            "nr-data.net", "segment.io", "segment.com", "optimizely.com", "quantserve.com", "scorecardresearch.com"
+    );
+    private static final List<String> FIRST_PARTY_DOMAINS = List.of("atg.se");
+
+    private final String name;
+    private final Set<String> blockedResourceTypes;
+    private final Set<String> blockedDomains;
+    private final Set<String> allowedDomains;
+
+    private NetworkProfile(String name, Set<String> blockedResourceTypes, Set<String> blockedDomains,
+                           Set<String> allowedDomains) {
+        this.name = name;
+        this.blockedResourceTypes = blockedResourceTypes;
+        this.blockedDomains = blockedDomains;
+        this.allowedDomains = allowedDomains;
+    }
+
+    public static NetworkProfile from(ScraperProperties props) {
+        String name = props.getNetworkProfile() == null ? "media" : props.getNetworkProfile().toLowerCase(Locale.ROOT);
+
+        Set<String> types = new LinkedHashSet<>();
+        Set<String> blocked = new LinkedHashSet<>();
+        Set<String> allowed = new LinkedHashSet<>();
+        switch (name) {
+            case "off" -> {
+            }
+            case "media" -> types.addAll(MEDIA_TYPES);
+            case "lean" -> {
+                types.addAll(MEDIA_TYPES);
+                types.addAll(TRACKING_TYPES);
+                blocked.addAll(TRACKING_DOMAINS);
+            }
+            case "strict" -> {
+                types.addAll(MEDIA_TYPES);
+                types.addAll(TRACKING_TYPES);
+                types.add("stylesheet");
+                blocked.addAll(TRACKING_DOMAINS);
+                allowed.addAll(FIRST_PARTY_DOMAINS);
+            }
+            default -> throw new IllegalArgumentException("Unknown scraper.network-profile '" + name
+                    + "' (expected off, media, lean or strict)");
+        }
+
+        types.addAll(lowerCase(props.getNetworkBlockedResourceTypes()));
+        blocked.addAll(lowerCase(props.getNetworkBlockedDomains()));
+        allowed.addAll(lowerCase(props.getNetworkAllowedDomains()));
+        return new NetworkProfile(name, Set.copyOf(types), Set.copyOf(blocked), Set.copyOf(allowed));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Why the request is blocked ({@code type:<resource type>} or {@code domain:<host>}), or null to let it through.
+     */
+    public String blockReason(String url, String resourceType) {
+        if (resourceType != null && blockedResourceTypes.contains(resourceType)) return "type:" + resourceType;
+
+        String host = hostOf(url);
+        if (host == null) return null;
+        if (matches(host, blockedDomains)) return "domain:" + host;
+        if (!allowedDomains.isEmpty() && !matches(host, allowedDomains)) return "domain:" + host;
+        return null;
+    }
+
+    private static boolean matches(String host, Set<String> domains) {
+        for (String domain : domains) {
+            if (host.equals(domain) || host.endsWith("." + domain)) return true;
+        }
+        return false;
+    }
+
+    private static String hostOf(String url) {
+        if (url == null || !url.startsWith("http")) return null;
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<String> lowerCase(Collection<String> values) {
+        if (values == null) return List.of();
+        return values.stream()
+                .filter(v -> v != null && !v.isBlank())
+                .map(v -> v.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (types " + blockedResourceTypes + ", " + blockedDomains.size() + " blocked domain(s)"
+                + (allowedDomains.isEmpty() ? "" : ", only " + allowedDomains) + ")";
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.travscraper.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads every lap of one track twice, once with a new tab per lap and once with a single warm tab that moves
+ * through in-app routing, and logs the time until the horse rows are rendered for each mode.
+ * Nothing is persisted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageLoadBenchmark {
+
+    private static final DateTimeFormatter URL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAX_LAPS = 15;
+    private static final int READY_TIMEOUT_MS = 45_000;
+
+    private final BrowserPool browserPool;
+    private final HostThrottle hostThrottle;
+    private final WarmTabs warmTabs;
+
+    public void run(LocalDate date) {
+        try (BrowserLease lease = browserPool.acquire()) {
+            BrowserContext ctx = lease.context();
+
+            String track = firstTrack(ctx, date);
+            if (track == null) {
+                log.warn("⏱️  Page-load benchmark: no track found on the calendar for {}", date);
+                return;
+            }
+
+            List<String> lapUrls = new ArrayList<>();
+            for (int lap = 1; lap <= MAX_LAPS; lap++) {
+                lapUrls.add(String.format("https://www.atg.se/spel/%s/vinnare/%s/lopp/%d",
+                        date.format(URL_DATE_FORMAT), track, lap));
+            }
+
+            PageLoadStats cold = new PageLoadStats();
+            int coldLaps = measureNewTabPerLap(ctx, lapUrls, cold);
+
+            PageLoadStats warm = new PageLoadStats();
+            int warmLaps = measureWarmTab(ctx, lapUrls.subList(0, coldLaps), warm);
+
+            log.info("⏱️  Page-load benchmark {} {} ({} laps): new tab per lap [{}]",
+                    track, date, coldLaps, cold.summary());
+            log.info("⏱️  Page-load benchmark {} {} ({} laps): warm tab [{}]",
+                    track, date, warmLaps, warm.summary());
+        }
+    }
+
+    private int measureNewTabPerLap(BrowserContext ctx, List<String> lapUrls, PageLoadStats stats) {
+        int loaded = 0;
+        for (String url : lapUrls) {
+            long started = System.nanoTime();
+            try (Page page = ctx.newPage()) {
+                hostThrottle.navigate(page, url, navOptions());
+                if (page.url().contains("/spel/kalender/")) break;
+                page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                        new Page.WaitForSelectorOptions().setTimeout(READY_TIMEOUT_MS));
+                stats.record(PageLoadStats.Mode.COLD, System.nanoTime() - started);
+                loaded++;
+            } catch (PlaywrightException e) {
+                log.info("⏱️  Page-load benchmark stopped at {}: {}", url, e.getMessage());
+                break;
+            }
+        }
+        return loaded;
+    }
+
+    private int measureWarmTab(BrowserContext ctx, List<String> lapUrls, PageLoadStats stats) {
+        int loaded = 0;
+        try (WarmTab tab = warmTabs.newTab(ctx, stats, true)) {
+            for (String url : lapUrls) {
+                try {
+                    Page page = tab.navigate(url, navOptions());
+                    page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
+                            new Page.WaitForSelectorOptions().setTimeout(READY_TIMEOUT_MS));
+                    tab.ready();
+                    loaded++;
+                } catch (PlaywrightException e) {
+                    log.info("⏱️  Page-load benchmark stopped at {}: {}", url, e.getMessage());
+                    break;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private String firstTrack(BrowserContext ctx, LocalDate date) {
+        String dateSlug = date.format(URL_DATE_FORMAT);
+        Pattern trackLinkPattern = Pattern.compile(
+                "/spel/" + Pattern.quote(dateSlug) + "/vinnare/([^/?#]+)/lopp/\\d+", Pattern.CASE_INSENSITIVE);
+
+        try (Page page = ctx.newPage()) {
+            hostThrottle.navigate(page, "https://www.atg.se/spel/kalender/" + dateSlug, navOptions());
+            try {
+                page.waitForSelector("a[href*='/vinnare/']",
+                        new Page.WaitForSelectorOptions().setTimeout(READY_TIMEOUT_MS));
+            } catch (PlaywrightException ignored) {
+            }
+
+            for (Element link : Jsoup.parse(page.content()).select("a[href]")) {
+                Matcher matcher = trackLinkPattern.matcher(link.attr("href"));
+                if (matcher.find()) return matcher.group(1);
+            }
+            return null;
+        } catch (PlaywrightException e) {
+            log.warn("⏱️  Page-load benchmark: calendar failed for {}: {}", date, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Page.NavigateOptions navOptions() {
+        return new Page.NavigateOptions()
+                .setWaitUntil(WaitUntilState.DOMCONTENTLOADED)
+                .setTimeout(READY_TIMEOUT_MS);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.travscraper.browser;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from "start moving to a URL" until its content is usable, split by how the tab got there.
+ */
+public class PageLoadStats {
+
+    public enum Mode {
+        /** Full page load in a fresh or reused tab. */
+        COLD,
+        /** In-app routing inside an already booted tab. */
+        WARM,
+        /** Full page load forced because an in-app move did not validate. */
+        FALLBACK
+    }
+
+    private final Map<Mode, List<Long>> samples = new EnumMap<>(Mode.class);
+
+    public synchronized void record(Mode mode, long nanos) {
+        samples.computeIfAbsent(mode, m -> new ArrayList<>()).add(nanos);
+    }
+
+    public synchronized int count(Mode mode) {
+        return samples.getOrDefault(mode, List.of()).size();
+    }
+
+    public synchronized long averageMs(Mode mode) {
+        List<Long> values = samples.getOrDefault(mode, List.of());
+        if (values.isEmpty()) return 0;
+        long sum = 0;
+        for (long v : values) sum += v;
+        return TimeUnit.NANOSECONDS.toMillis(sum / values.size());
+    }
+
+    public synchronized long percentileMs(Mode mode, int percentile) {
+        List<Long> values = new ArrayList<>(samples.getOrDefault(mode, List.of()));
+        if (values.isEmpty()) return 0;
+        values.sort(null);
+        int idx = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(values.get(Math.max(0, Math.min(idx, values.size() - 1))));
+    }
+
+    public synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Mode mode : Mode.values()) {
+            if (count(mode) == 0) continue;
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(mode.name().toLowerCase()).append(' ')
+                    .append(count(mode)).append("x avg ").append(averageMs(mode)).append(" ms")
+                    .append(" p50 ").append(percentileMs(mode, 50)).append(" ms")
+                    .append(" p95 ").append(percentileMs(mode, 95)).append(" ms");
+        }
+        return sb.isEmpty() ? "no page loads" : sb.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.travscraper.browser;
+
+import com.microsoft.playwright.Page;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HTML of a page serialised across the Playwright pipe once and parsed by Jsoup once. Validators and
+ * extractors share the {@link Document}; {@link #reads()} counts how many of them did, which is how many
+ * {@code page.content()} + {@code Jsoup.parse} round trips the snapshot replaced.
+ */
+public final class PageSnapshot {
+
+    private final String url;
+    private final Document document;
+    private final int bytes;
+    private final long contentNanos;
+    private final long parseNanos;
+    private int reads;
+
+    private PageSnapshot(String url, Document document, int bytes, long contentNanos, long parseNanos) {
+        this.url = url;
+        this.document = document;
+        this.bytes = bytes;
+        this.contentNanos = contentNanos;
+        this.parseNanos = parseNanos;
+    }
+
+    public static PageSnapshot of(Page page) {
+        long started = System.nanoTime();
+        String html = page.content();
+        long fetched = System.nanoTime();
+        Document document = Jsoup.parse(html);
+        long parsed = System.nanoTime();
+
+        return new PageSnapshot(page.url(), document, html.getBytes(StandardCharsets.UTF_8).length,
+                fetched - started, parsed - fetched);
+    }
+
+    public Document document() {
+        reads++;
+        return document;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+
+    public int reads() {
+        return reads;
+    }
+
+    /**
+     * One line for the log: what the snapshots of a lap cost and what re-serialising/re-parsing per reader
+     * would have cost on top.
+     */
+    public static String summary(List<PageSnapshot> snapshots) {
+        long bytes = 0;
+        long savedBytes = 0;
+        long nanos = 0;
+        long savedNanos = 0;
+        int reads = 0;
+        for (PageSnapshot snapshot : snapshots) {
+            int extraReads = Math.max(0, snapshot.reads - 1);
+            bytes += snapshot.bytes;
+            savedBytes += (long) extraReads * snapshot.bytes;
+            nanos += snapshot.contentNanos + snapshot.parseNanos;
+            savedNanos += extraReads * (snapshot.contentNanos + snapshot.parseNanos);
+            reads += snapshot.reads;
+        }
+        return String.format("%d snapshot(s), %d read(s), %d KB in %d ms; saved %d KB and ~%d ms",
+                snapshots.size(), reads, bytes / 1024, TimeUnit.NANOSECONDS.toMillis(nanos),
+                savedBytes / 1024, TimeUnit.NANOSECONDS.toMillis(savedNanos));
+    }
+}
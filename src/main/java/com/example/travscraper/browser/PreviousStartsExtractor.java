@@ -0,0 +1,139 @@
+package com.example.travscraper.browser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Opens every "Mer info" panel of a lap page at once and reads all previous-starts tables back in one call,
+ * instead of clicking, waiting for and serialising one horse at a time. Buttons are tagged with
+ * {@code data-popup-idx} while open so the three steps (expand, collect, collapse) agree on which is which.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PreviousStartsExtractor {
+
+    private static final String MARKER = "data-popup-idx";
+    private static final String LOADED = "tbody tr, [data-test-id=\"result-date\"]";
+
+    private static final String EXPAND_SCRIPT = """
+            max => {
+              const visible = el => !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);
+              let buttons = Array.from(document.querySelectorAll(
+                'button[data-test-id="previous-starts-toggle-show-more-button"], ' +
+                'button[data-test-id*="previous-starts"][data-test-id*="show-more"]')).filter(visible);
+              if (!buttons.length) {
+                const more = /Mer\\s+info|Visa\\s+mer(\\s+info)?/i;
+                buttons = Array.from(document.querySelectorAll('button, a, [role=button]'))
+                  .filter(el => visible(el) && more.test(el.textContent || ''));
+                // A row acting as a button also contains the text; keep the innermost match.
+                buttons = buttons.filter(b => !buttons.some(o => o !== b && b.contains(o)));
+              }
+              buttons = buttons.filter(b => b.closest('tr')).slice(0, max);
+              buttons.forEach((b, i) => {
+                b.setAttribute('%1$s', String(i));
+                b.click();
+              });
+              return buttons.length;
+            }
+            """.formatted(MARKER);
+
+    private static final String ALL_LOADED_SCRIPT = """
+            () => Array.from(document.querySelectorAll('[%1$s]'))
+              .every(b => b.closest('tr') && b.closest('tr').querySelector('%2$s'))
+            """.formatted(MARKER, LOADED);
+
+    private static final String COLLECT_SCRIPT = """
+            () => {
+              const split = '[startlist-export-id^=startlist-cell-horse-split-export]';
+              return JSON.stringify(Array.from(document.querySelectorAll('[%1$s]')).map(btn => {
+                const scope = btn.closest('tr');
+                let horseRow = scope;
+                let cell = horseRow.querySelector(split);
+                if (!cell) {
+                  const prev = scope.previousElementSibling;
+                  const prevCell = prev && prev.tagName === 'TR' ? prev.querySelector(split) : null;
+                  if (prevCell) {
+                    horseRow = prev;
+                    cell = prevCell;
+                  }
+                }
+                const startButton = horseRow.querySelector('button[data-test-start-number], [data-test-start-number]');
+                return {
+                  index: Number(btn.getAttribute('%1$s')),
+                  loaded: !!scope.querySelector('%2$s'),
+                  startNumber: startButton ? startButton.getAttribute('data-test-start-number') : null,
+                  splitTextContent: cell ? cell.textContent : null,
+                  splitText: cell ? cell.innerText : null,
+                  rowText: horseRow.innerText,
+                  html: scope.outerHTML
+                };
+              }));
+            }
+            """.formatted(MARKER, LOADED);
+
+    private static final String COLLAPSE_SCRIPT = """
+            () => {
+              for (const btn of document.querySelectorAll('[%1$s]')) {
+                const scope = btn.closest('tr');
+                btn.removeAttribute('%1$s');
+                if (scope && scope.querySelector('%2$s')) btn.click();
+              }
+            }
+            """.formatted(MARKER, LOADED);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Clicks up to {@code max} "Mer info" buttons in one go; returns how many were opened (0 when none were
+     * found or the script failed).
+     */
+    public int expandAll(Page page, int max) {
+        try {
+            Object opened = page.evaluate(EXPAND_SCRIPT, max);
+            return opened instanceof Number n ? n.intValue() : 0;
+        } catch (PlaywrightException e) {
+            log.debug("🟦 Bulk expand failed on {}: {}", page.url(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Waits until every opened panel has rows (or the timeout passes) and returns all of them, in button
+     * order. Null when the page could not be read.
+     */
+    public List<PreviousStartsFragment> collect(Page page, int timeoutMs) {
+        try {
+            page.waitForFunction(ALL_LOADED_SCRIPT, null,
+                    new Page.WaitForFunctionOptions().setTimeout(timeoutMs).setPollingInterval(100));
+        } catch (PlaywrightException e) {
+            log.debug("🟦 Not every previous-starts panel loaded on {}: {}", page.url(), e.getMessage());
+        }
+
+        try {
+            Object json = page.evaluate(COLLECT_SCRIPT);
+            if (!(json instanceof String body)) return null;
+            return objectMapper.readValue(body, new TypeReference<List<PreviousStartsFragment>>() {
+            });
+        } catch (PlaywrightException | JsonProcessingException e) {
+            log.debug("🟦 Collecting previous-starts panels failed on {}: {}", page.url(), e.getMessage());
+            return null;
+        }
+    }
+
+    public void collapseAll(Page page) {
+        try {
+            page.evaluate(COLLAPSE_SCRIPT);
+        } catch (PlaywrightException e) {
+            log.debug("🟦 Collapsing previous-starts panels failed on {}: {}", page.url(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.travscraper.browser;
+
+/**
+ * The expanded previous-starts panel of one horse, with what is needed to tell which horse it belongs to.
+ * {@code index} is the position of the "Mer info" button on the page; {@code loaded} is false when the panel
+ * had not rendered its rows before the wait ran out.
+ */
+public record PreviousStartsFragment(
+        int index,
+        boolean loaded,
+        String startNumber,
+        String splitTextContent,
+        String splitText,
+        String rowText,
+        String html
+) {
+}
@@ -0,0 +1,97 @@
+package com.example.travscraper.browser;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the JSON bodies of the ATG racing-info calls a page makes while it renders, so scrapers can read
+ * games, races and results straight from the API payloads instead of from the rendered table.
+ * Bodies are kept per URL across in-app moves, since the app does not refetch a game it already has.
+ */
+@Slf4j
+public final class ResponseCapture {
+
+    private static final String RACING_INFO_PATH = "/services/racinginfo/";
+    private static final int MAX_BODIES = 64;
+    private static final int MAX_BODY_CHARS = 4_000_000;
+
+    private final Page page;
+    private final Map<String, String> bodiesByUrl = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_BODIES;
+        }
+    };
+
+    private int version;
+
+    private ResponseCapture(Page page) {
+        this.page = page;
+    }
+
+    public static ResponseCapture attach(Page page) {
+        ResponseCapture capture = new ResponseCapture(page);
+        page.onResponse(capture::onResponse);
+        return capture;
+    }
+
+    private void onResponse(Response response) {
+        String url = response.url();
+        if (!url.contains(RACING_INFO_PATH) || response.status() != 200) return;
+
+        String contentType = response.headerValue("content-type");
+        if (contentType == null || !contentType.contains("json")) return;
+
+        try {
+            String body = response.text();
+            if (body == null || body.length() > MAX_BODY_CHARS) return;
+            bodiesByUrl.remove(url);
+            bodiesByUrl.put(url, body);
+            version++;
+        } catch (PlaywrightException e) {
+            log.debug("🛰️  Could not read body of {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Bodies whose URL matches, newest first.
+     */
+    public List<String> bodies(Predicate<String> urlFilter) {
+        List<String> matches = new ArrayList<>();
+        bodiesByUrl.forEach((url, body) -> {
+            if (urlFilter.test(url)) matches.add(0, body);
+        });
+        return matches;
+    }
+
+    /**
+     * Waits until {@code accept} returns a value for one of the captured bodies whose URL matches, pumping
+     * Playwright events while waiting. Returns null on timeout or when the page was bounced to the calendar,
+     * which is how ATG answers a lap that does not exist.
+     */
+    public <T> T await(Predicate<String> urlFilter, Function<String, T> accept, int timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        int checked = -1;
+        while (true) {
+            if (checked != version) {
+                checked = version;
+                for (String body : bodies(urlFilter)) {
+                    T value = accept.apply(body);
+                    if (value != null) return value;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline || page.isClosed()) return null;
+            if (page.url().contains("/spel/kalender/")) return null;
+            page.waitForTimeout(100);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.travscraper.browser;
+
+import java.util.List;
+
+/**
+ * What the scrapers read from a rendered lap page: the selected lap button, whether the race is cancelled,
+ * the race header (distance) and the startlist rows in page order.
+ */
+public record Startlist(String selectedLap, boolean cancelled, String header, List<StartlistRow> rows) {
+
+    public Startlist {
+        rows = rows == null ? List.of() : List.copyOf(rows);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.travscraper.browser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a {@link Startlist} from a rendered lap page. {@link #evaluate(Page)} does it inside the browser with
+ * one script that returns a few KB of JSON instead of the whole serialised page; {@link #read(Document)} is the
+ * same extraction on a Jsoup document, used as fallback and to check the script against.
+ * The script mirrors Jsoup's {@code Element.text()} (whitespace collapsed, blocks separated by a space), so
+ * both readers produce equal records for the same page.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartlistExtractor {
+
+    public static final String CANCELLED_SELECTOR =
+            "span[class*=cancelledRace], span:matchesOwn(Inställt\\,?\\s+insatser)";
+    public static final String SELECTED_LAP_SELECTOR = "[data-test-selected=true]";
+
+    private static final String HORSE_SPLIT = "[startlist-export-id^=startlist-cell-horse-split-export]";
+    private static final String DRIVER_SPLIT = "[startlist-export-id^=startlist-cell-driver-split-export]";
+    private static final Pattern LEADING_NUMBER = Pattern.compile("^\\s*(\\d{1,2})\\b");
+
+    private static final String SCRIPT = """
+            () => {
+              const BLOCK = new Set(['ADDRESS', 'ARTICLE', 'ASIDE', 'BLOCKQUOTE', 'BR', 'DD', 'DIV', 'DL', 'DT',
+                'FIGCAPTION', 'FIGURE', 'FOOTER', 'FORM', 'H1', 'H2', 'H3', 'H4', 'H5', 'H6', 'HEADER', 'HR', 'LI',
+                'MAIN', 'NAV', 'OL', 'P', 'PRE', 'SECTION', 'TABLE', 'TBODY', 'TD', 'TFOOT', 'TH', 'THEAD', 'TR', 'UL']);
+              const SKIP = new Set(['SCRIPT', 'STYLE', 'TEMPLATE', 'NOSCRIPT']);
+              const text = el => {
+                if (!el) return null;
+                let out = '';
+                const walk = node => {
+                  for (const child of node.childNodes) {
+                    if (child.nodeType === Node.TEXT_NODE) {
+                      out += child.nodeValue;
+                    } else if (child.nodeType === Node.ELEMENT_NODE && !SKIP.has(child.tagName)) {
+                      const block = BLOCK.has(child.tagName);
+                      if (block) out += ' ';
+                      walk(child);
+                      if (block) out += ' ';
+                    }
+                  }
+                };
+                walk(el);
+                return out.replace(/\\s+/g, ' ').trim();
+              };
+              const ownText = el => Array.from(el.childNodes)
+                .filter(n => n.nodeType === Node.TEXT_NODE)
+                .map(n => n.nodeValue).join('').replace(/\\s+/g, ' ').trim();
+              const startNumber = tr => {
+                const btn = tr.querySelector('button[data-test-start-number], [data-test-start-number]');
+                if (btn) {
+                  const n = (btn.getAttribute('data-test-start-number') || '').trim();
+                  if (n) return n;
+                }
+                const split = tr.querySelector('%1$s');
+                if (split) {
+                  // Jsoup's select() includes the element itself.
+                  const spans = split.matches('span') ? [split, ...split.querySelectorAll('span')] : split.querySelectorAll('span');
+                  for (const span of spans) {
+                    const d = text(span).replace(/\\D+/g, '');
+                    if (d) return d;
+                  }
+                  const m = /^\\s*(\\d{1,2})\\b/.exec(text(split));
+                  if (m) return m[1];
+                }
+                const nrText = tr.querySelector('[data-test-id=horse-start-number], [class*=startNumber]');
+                if (nrText) {
+                  const n = text(nrText).replace(/\\D+/g, '');
+                  if (n) return n;
+                }
+                return '';
+              };
+
+              const rows = [];
+              for (const tr of document.querySelectorAll('tr')) {
+                const horseRow = (tr.getAttribute('data-test-id') || '').startsWith('horse-row');
+                const rowText = text(tr);
+                const addition = /tillägg/i.test(rowText);
+                if (!horseRow) {
+                  if (addition) rows.push({horseRow: false, text: rowText});
+                  continue;
+                }
+                const horse = text(tr.querySelector('%1$s'));
+                rows.push({
+                  horseRow: true,
+                  startNumber: startNumber(tr),
+                  horse,
+                  placement: text(tr.querySelector('[data-test-id=horse-placement]')),
+                  vOdds: text(tr.querySelector('[data-test-id=startlist-cell-vodds]')),
+                  pOdds: text(tr.querySelector('[data-test-id=startlist-cell-podds]')),
+                  driver: text(tr.querySelector('%2$s')),
+                  text: addition || !horse ? rowText : null
+                });
+              }
+
+              return JSON.stringify({
+                selectedLap: text(document.querySelector('%3$s')),
+                cancelled: !!document.querySelector('span[class*=cancelledRace]')
+                  || Array.from(document.querySelectorAll('span')).some(s => /Inställt,?\\s+insatser/.test(ownText(s))),
+                header: text(document.querySelector('#leg-header') || document.querySelector('[data-test-id=vinnare-game]')),
+                rows
+              });
+            }
+            """.formatted(HORSE_SPLIT, DRIVER_SPLIT, SELECTED_LAP_SELECTOR);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The startlist read in the browser, or null when the script or its result failed; read a snapshot then.
+     */
+    public Startlist evaluate(Page page) {
+        try {
+            Object json = page.evaluate(SCRIPT);
+            if (!(json instanceof String body)) return null;
+            return objectMapper.readValue(body, Startlist.class);
+        } catch (PlaywrightException | JsonProcessingException e) {
+            log.debug("📋 Startlist script failed on {}: {}", page.url(), e.getMessage());
+            return null;
+        }
+    }
+
+    public Startlist read(Document doc) {
+        List<StartlistRow> rows = new ArrayList<>();
+        for (Element tr : doc.select("tr")) {
+            boolean horseRow = tr.attr("data-test-id").startsWith("horse-row");
+            String rowText = tr.text();
+            boolean addition = rowText.toLowerCase(Locale.ROOT).contains("tillägg");
+            if (!horseRow) {
+                if (addition) rows.add(new StartlistRow(false, null, null, null, null, null, null, rowText));
+                continue;
+            }
+
+            String horse = textOrNull(tr.selectFirst(HORSE_SPLIT));
+            rows.add(new StartlistRow(
+                    true,
+                    startNumber(tr),
+                    horse,
+                    textOrNull(tr.selectFirst("[data-test-id=horse-placement]")),
+                    textOrNull(tr.selectFirst("[data-test-id=startlist-cell-vodds]")),
+                    textOrNull(tr.selectFirst("[data-test-id=startlist-cell-podds]")),
+                    textOrNull(tr.selectFirst(DRIVER_SPLIT)),
+                    addition || horse == null || horse.isEmpty() ? rowText : null
+            ));
+        }
+
+        Element header = doc.selectFirst("#leg-header");
+        if (header == null) header = doc.selectFirst("[data-test-id=vinnare-game]");
+
+        return new Startlist(
+                textOrNull(doc.selectFirst(SELECTED_LAP_SELECTOR)),
+                doc.selectFirst(CANCELLED_SELECTOR) != null,
+                textOrNull(header),
+                rows
+        );
+    }
+
+    /**
+     * Where two readings of the same page disagree, or null when they are equal.
+     */
+    public static String firstDifference(Startlist a, Startlist b) {
+        if (!Objects.equals(a.selectedLap(), b.selectedLap())) {
+            return "selected lap '" + a.selectedLap() + "' vs '" + b.selectedLap() + "'";
+        }
+        if (a.cancelled() != b.cancelled()) return "cancelled " + a.cancelled() + " vs " + b.cancelled();
+        if (!Objects.equals(a.header(), b.header())) return "header '" + a.header() + "' vs '" + b.header() + "'";
+        if (a.rows().size() != b.rows().size()) return a.rows().size() + " vs " + b.rows().size() + " rows";
+        for (int i = 0; i < a.rows().size(); i++) {
+            if (!a.rows().get(i).equals(b.rows().get(i))) return "row " + i + ": " + a.rows().get(i) + " vs " + b.rows().get(i);
+        }
+        return null;
+    }
+
+    private static String startNumber(Element tr) {
+        Element numBtn = tr.selectFirst("button[data-test-start-number], [data-test-start-number]");
+        if (numBtn != null) {
+            String n = numBtn.attr("data-test-start-number").trim();
+            if (!n.isBlank()) return n;
+        }
+
+        Element split = tr.selectFirst(HORSE_SPLIT);
+        if (split != null) {
+            for (Element sp : split.select("span")) {
+                String d = sp.text().replaceAll("\\D+", "");
+                if (!d.isBlank()) return d;
+            }
+
+            Matcher m = LEADING_NUMBER.matcher(split.text());
+            if (m.find()) return m.group(1);
+        }
+
+        Element nrText = tr.selectFirst("[data-test-id=horse-start-number], [class*=startNumber]");
+        if (nrText != null) {
+            String n = nrText.text().replaceAll("\\D+", "");
+            if (!n.isBlank()) return n;
+        }
+        return "";
+    }
+
+    private static String textOrNull(Element element) {
+        return element != null ? element.text() : null;
+    }
+}
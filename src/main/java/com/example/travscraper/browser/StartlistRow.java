@@ -0,0 +1,18 @@
+package com.example.travscraper.browser;
+
+/**
+ * One {@code tr} of a startlist as the scrapers need it. Horse rows carry their cells (null when the cell is
+ * missing); other rows are only kept when they announce a distance addition, and then carry just their text.
+ * {@code text} is also set on a horse row whose name cell is empty, or that mentions a distance addition.
+ */
+public record StartlistRow(
+        boolean horseRow,
+        String startNumber,
+        String horse,
+        String placement,
+        String vOdds,
+        String pOdds,
+        String driver,
+        String text
+) {
+}
@@ -0,0 +1,185 @@
+package com.example.travscraper.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+
+/**
+ * One tab that stays open for a whole track and moves between laps/departments through ATG's own routing
+ * (clicking the app's link to the target URL) instead of re-booting the single-page app for every lap.
+ * When no link exists, in-app routing is disabled, or the caller reports that an in-app move did not
+ * validate, the tab falls back to a full navigation.
+ */
+@Slf4j
+public final class WarmTab implements AutoCloseable {
+
+    /**
+     * Horse rows rendered after the latest move. Rows that were on screen before an in-app move are tagged
+     * stale, so waiting for this selector never returns the previous lap's table.
+     */
+    public static final String FRESH_HORSE_ROWS = "tr[data-test-id^=horse-row]:not([data-warm-tab-stale])";
+
+    private static final String MARK_ROWS_STALE =
+            "() => document.querySelectorAll('tr[data-test-id^=horse-row]')" +
+                    ".forEach(r => r.setAttribute('data-warm-tab-stale', '1'))";
+    private static final int IN_APP_TIMEOUT_MS = 10_000;
+    private static final int MAX_IN_APP_FAILURES = 3;
+
+    private final BrowserContext ctx;
+    private final HostThrottle hostThrottle;
+    private final PageLoadStats stats;
+    private final boolean inAppNavigation;
+    private final boolean captureJson;
+    private Page page;
+    private ResponseCapture responses;
+    private boolean lastInApp;
+    private boolean forceFull;
+    private int inAppFailures;
+    private PageLoadStats.Mode pendingMode;
+    private long pendingSince;
+
+    WarmTab(BrowserContext ctx, HostThrottle hostThrottle, PageLoadStats stats, boolean inAppNavigation,
+            boolean captureJson) {
+        this.ctx = ctx;
+        this.hostThrottle = hostThrottle;
+        this.stats = stats;
+        this.inAppNavigation = inAppNavigation;
+        this.captureJson = captureJson;
+    }
+
+    /**
+     * Moves the tab to {@code url}. A full navigation uses {@code options}; an in-app move returns once the
+     * app's router has switched URL. Either way the caller should wait for {@link #FRESH_HORSE_ROWS}.
+     */
+    public Page navigate(String url, Page.NavigateOptions options) {
+        return navigate(url, options, null);
+    }
+
+    /**
+     * As {@link #navigate(String, Page.NavigateOptions)}, under a host permit the caller holds until the
+     * content has loaded instead of one taken for the navigation call alone.
+     */
+    public Page navigate(String url, Page.NavigateOptions options, HostThrottle.Permit held) {
+        pendingSince = System.nanoTime();
+
+        if (canNavigateInApp() && navigateInApp(url)) {
+            lastInApp = true;
+            pendingMode = PageLoadStats.Mode.WARM;
+            return page;
+        }
+
+        pendingMode = forceFull ? PageLoadStats.Mode.FALLBACK : PageLoadStats.Mode.COLD;
+        forceFull = false;
+        lastInApp = false;
+
+        if (page == null || page.isClosed()) {
+            page = ctx.newPage();
+            responses = captureJson ? ResponseCapture.attach(page) : null;
+        }
+        if (held != null) {
+            page.navigate(url, options);
+        } else {
+            hostThrottle.navigate(page, url, options);
+        }
+        return page;
+    }
+
+    /**
+     * Records the load time of the latest move; call when its content has rendered.
+     */
+    public void ready() {
+        if (pendingMode == null) return;
+        stats.record(pendingMode, System.nanoTime() - pendingSince);
+        pendingMode = null;
+    }
+
+    /**
+     * The racing-info JSON this tab has received, or null when JSON capture is off.
+     */
+    public ResponseCapture responses() {
+        return responses;
+    }
+
+    public boolean lastWasInApp() {
+        return lastInApp;
+    }
+
+    /**
+     * Called when the content reached by the latest move failed validation. Returns true when that move was
+     * in-app, in which case the next {@link #navigate} on this tab is a full navigation and should be retried.
+     */
+    public boolean fallBackIfInApp() {
+        if (!lastInApp) return false;
+        lastInApp = false;
+        forceFull = true;
+        pendingMode = null;
+        if (++inAppFailures == MAX_IN_APP_FAILURES) {
+            log.info("🗂️  In-app navigation failed {} times on {}, using full navigation for this tab",
+                    inAppFailures, page != null ? page.url() : "-");
+        }
+        return true;
+    }
+
+    public static boolean fallBackIfInApp(WarmTab... tabs) {
+        boolean any = false;
+        for (WarmTab tab : tabs) {
+            any |= tab.fallBackIfInApp();
+        }
+        return any;
+    }
+
+    private boolean canNavigateInApp() {
+        return inAppNavigation
+                && !forceFull
+                && inAppFailures < MAX_IN_APP_FAILURES
+                && page != null
+                && !page.isClosed()
+                && page.url().startsWith("https://www.atg.se/");
+    }
+
+    private boolean navigateInApp(String url) {
+        String path = pathOf(url);
+        if (path.isBlank()) return false;
+
+        try {
+            Locator link = page.locator("a[href=\"" + path + "\"], a[href=\"" + url + "\"]");
+            if (link.count() == 0) return false;
+
+            page.evaluate(MARK_ROWS_STALE);
+            link.first().click(new Locator.ClickOptions().setTimeout(IN_APP_TIMEOUT_MS));
+            page.waitForURL(current -> path.equals(pathOf(current)), new Page.WaitForURLOptions()
+                    .setWaitUntil(WaitUntilState.COMMIT)
+                    .setTimeout(IN_APP_TIMEOUT_MS));
+            return true;
+        } catch (PlaywrightException e) {
+            inAppFailures++;
+            log.debug("🗂️  In-app navigation to {} failed, falling back to full navigation: {}", url, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            if (path == null) return "";
+            return path.endsWith("/") && path.length() > 1 ? path.substring(0, path.length() - 1) : path;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    @Override
+    public void close() {
+        if (page == null) return;
+        try {
+            page.close();
+        } catch (PlaywrightException ignored) {
+        }
+        page = null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.travscraper.browser;
+
+import com.example.travscraper.ScraperProperties;
+import com.microsoft.playwright.BrowserContext;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmTabs {
+
+    private final ScraperProperties props;
+    private final HostThrottle hostThrottle;
+    private final PageLoadStats stats = new PageLoadStats();
+
+    /**
+     * A tab that uses in-app routing when {@code scraper.warm-tab-navigation} is on.
+     */
+    public WarmTab newTab(BrowserContext ctx) {
+        return new WarmTab(ctx, hostThrottle, stats, props.isWarmTabNavigation(), props.isJsonCapture());
+    }
+
+    /**
+     * A reused tab that always does full navigations, for pages whose content cannot be told apart from the
+     * previous lap's after an in-app move.
+     */
+    public WarmTab newColdTab(BrowserContext ctx) {
+        return new WarmTab(ctx, hostThrottle, stats, false, props.isJsonCapture());
+    }
+
+    WarmTab newTab(BrowserContext ctx, PageLoadStats stats, boolean inAppNavigation) {
+        return new WarmTab(ctx, hostThrottle, stats, inAppNavigation, false);
+    }
+
+    @PreDestroy
+    void logStats() {
+        log.info("🗂️  Page loads: {}", stats.summary());
+    }
+}
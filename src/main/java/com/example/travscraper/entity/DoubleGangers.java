@@ -16,7 +16,8 @@ import lombok.*;
 public class DoubleGangers {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "double_gangers_id_seq")
+    @SequenceGenerator(name = "double_gangers_id_seq", sequenceName = "double_gangers_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "date", nullable = false)
@@ -20,7 +20,8 @@ import java.time.LocalDate;
 public class FutureHorse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "future_horse_id_seq")
+    @SequenceGenerator(name = "future_horse_id_seq", sequenceName = "future_horse_id_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate date;
@@ -0,0 +1,30 @@
+package com.example.travscraper.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of resultat rows and latest datum per horse name, counted up by ResultHorseWriter as rows are inserted.
+ */
+@Entity
+@Table(
+        name = "horse_start_counter",
+        indexes = @Index(name = "horse_start_counter_starts_idx", columnList = "starts")
+)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class HorseStartCounter {
+
+    @Id
+    @Column(name = "namn", length = 50)
+    private String namn;
+
+    @Column(name = "starts", nullable = false)
+    private Integer starts;
+
+    @Column(name = "last_datum", nullable = false)
+    private Integer lastDatum;
+}
@@ -13,7 +13,8 @@ import lombok.*;
 public class HorseWarning {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kontroll_id_seq")
+    @SequenceGenerator(name = "kontroll_id_seq", sequenceName = "kontroll_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "datum")
@@ -7,7 +7,11 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(
-        name = "reducedsystem"
+        name = "reducedsystem",
+        uniqueConstraints = @UniqueConstraint(
+                name = "reducedsystem_natural_key",
+                columnNames = {"startDatum", "bankod", "streckTyp", "lopp", "nr"}
+        )
 )
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +20,8 @@ import java.math.BigDecimal;
 @Builder
 public class ReducedSystem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reducedsystem_id_seq")
+    @SequenceGenerator(name = "reducedsystem_id_seq", sequenceName = "reducedsystem_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "streck", precision = 6, scale = 2)
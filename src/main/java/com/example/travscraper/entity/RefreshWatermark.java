@@ -0,0 +1,30 @@
+package com.example.travscraper.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * How far an incremental refresh of a derived table has read resultat: the highest datum it saw and the
+ * latest updated_at among the rows it saw. One row per derived table.
+ */
+@Entity
+@Table(name = "refresh_watermark")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RefreshWatermark {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "last_datum", nullable = false)
+    private Integer lastDatum;
+
+    @Column(name = "last_updated_at")
+    private OffsetDateTime lastUpdatedAt;
+}
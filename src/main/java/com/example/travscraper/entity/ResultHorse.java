@@ -3,6 +3,8 @@ package com.example.travscraper.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @Table(
         name = "resultat",
@@ -16,7 +18,8 @@ import lombok.*;
 public class ResultHorse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resultat_id_seq")
+    @SequenceGenerator(name = "resultat_id_seq", sequenceName = "resultat_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "datum", nullable = false)
@@ -72,6 +75,11 @@ public class ResultHorse {
     @Column(name = "kusk", nullable = false, length = 80)
     private String kusk = "";
 
+    /** Set by the database on every insert and update (trigger from db/migration/V3__resultat_updated_at.sql). */
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "timestamp with time zone default now()")
+    private OffsetDateTime updatedAt;
+
     @PrePersist
     @PreUpdate
     private void applyNonNullDefaults() {
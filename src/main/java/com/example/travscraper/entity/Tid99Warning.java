@@ -16,7 +16,8 @@ import lombok.*;
 public class Tid99Warning {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tid_99_warning_id_seq")
+    @SequenceGenerator(name = "tid_99_warning_id_seq", sequenceName = "tid_99_warning_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "datum", nullable = false)
@@ -0,0 +1,31 @@
+package com.example.travscraper.repo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared preparation of the rows a writer sends as one JDBC batch.
+ */
+final class BatchRows {
+
+    private BatchRows() {
+    }
+
+    /**
+     * The last row per key, in the order the keys first appear. Rows whose key is null (part of it missing) are
+     * left out. A batch must not repeat a key: with reWriteBatchedInserts the driver sends a batch of plain
+     * INSERTs as multi-row INSERTs, and ON CONFLICT DO UPDATE may not touch the same row twice in one statement.
+     */
+    static <T> List<T> lastPerKey(Collection<T> rows, Function<T, ?> key) {
+        Map<Object, T> byKey = new LinkedHashMap<>();
+        for (T row : rows) {
+            Object k = key.apply(row);
+            if (k != null) byKey.put(k, row);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+}
@@ -1,11 +0,0 @@
-package com.example.travscraper.repo;
-
-public interface DoubleGangerCandidate {
-    Integer getDatum();
-
-    String getTrack1();
-
-    String getTrack2();
-
-    String getHorseName();
-}
@@ -2,8 +2,96 @@ package com.example.travscraper.repo;
 
 import com.example.travscraper.entity.DoubleGangers;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface DoubleGangerRepo extends JpaRepository<DoubleGangers, Long> {
+
+    /**
+     * Fills double_gangers with every horse name that ran at two tracks on the same date, in one statement.
+     * Returns the number of rows inserted.
+     */
+    @Modifying
+    @Query(value = """
+                insert into double_gangers (id, date, track1, track2, horse_name)
+                select nextval('double_gangers_id_seq'), c.datum, c.track1, c.track2, c.horse_name
+                from (
+                    select distinct
+                        r1.datum as datum,
+                        r1.bankod as track1,
+                        r2.bankod as track2,
+                        r1.namn as horse_name
+                    from resultat r1
+                    join resultat r2
+                      on r1.datum = r2.datum
+                     and r1.namn = r2.namn
+                     and r1.bankod < r2.bankod
+                    where r1.namn is not null
+                      and trim(r1.namn) <> ''
+                      and r1.bankod is not null
+                      and r2.bankod is not null
+                ) c
+            """, nativeQuery = true)
+    int insertFromResults();
+
+    /**
+     * Removes the rows of the given dates that are no longer double gangers in resultat.
+     */
+    @Modifying
+    @Query(value = """
+                delete from double_gangers d
+                where d.date in (:dates)
+                  and not exists (
+                    select 1
+                    from resultat r1
+                    join resultat r2
+                      on r1.datum = r2.datum
+                     and r1.namn = r2.namn
+                    where r1.datum = d.date
+                      and r1.bankod = d.track1
+                      and r2.bankod = d.track2
+                      and r1.namn = d.horse_name
+                  )
+            """, nativeQuery = true)
+    int deleteStaleForDates(@Param("dates") Collection<Integer> dates);
+
+    /**
+     * Inserts the double gangers of the given dates that are not stored yet. Returns the number of rows inserted.
+     */
+    @Modifying
+    @Query(value = """
+                insert into double_gangers (id, date, track1, track2, horse_name)
+                select nextval('double_gangers_id_seq'), c.datum, c.track1, c.track2, c.horse_name
+                from (
+                    select distinct
+                        r1.datum as datum,
+                        r1.bankod as track1,
+                        r2.bankod as track2,
+                        r1.namn as horse_name
+                    from resultat r1
+                    join resultat r2
+                      on r1.datum = r2.datum
+                     and r1.namn = r2.namn
+                     and r1.bankod < r2.bankod
+                    where r1.datum in (:dates)
+                      and r1.namn is not null
+                      and trim(r1.namn) <> ''
+                      and r1.bankod is not null
+                      and r2.bankod is not null
+                      and not exists (
+                        select 1
+                        from double_gangers d
+                        where d.date = r1.datum
+                          and d.track1 = r1.bankod
+                          and d.track2 = r2.bankod
+                          and d.horse_name = r1.namn
+                      )
+                ) c
+            """, nativeQuery = true)
+    int insertMissingForDates(@Param("dates") Collection<Integer> dates);
 }
@@ -5,9 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FutureHorseRepo extends JpaRepository<FutureHorse, Long> {
     Optional<FutureHorse> findByDateAndTrackAndLapAndNumberOfHorse(LocalDate date, String track, String lap, String numberOfHorse);
+
+    List<FutureHorse> findByDateAndTrackAndLap(LocalDate date, String track, String lap);
 }
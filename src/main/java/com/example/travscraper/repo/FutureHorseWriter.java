@@ -0,0 +1,54 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.FutureHorse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched upsert of {@code future_horse} rows on future_horse_natural_key (date, track, lap, number_of_horse).
+ * Ids come from {@code future_horse_id_seq}, the sequence Hibernate allocates from. Being plain JDBC, a lap can
+ * be rolled back to a savepoint without leaving entities behind in a persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FutureHorseWriter {
+
+    static final String UPSERT = """
+            INSERT INTO future_horse (id, date, track, lap, number_of_horse, name_of_horse, v_odds)
+            VALUES (nextval('future_horse_id_seq'), ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (date, track, lap, number_of_horse) DO UPDATE SET
+                name_of_horse = EXCLUDED.name_of_horse,
+                v_odds        = EXCLUDED.v_odds
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the rows in one batch; returns the number of rows sent.
+     */
+    public int upsert(Collection<FutureHorse> rows) {
+        List<FutureHorse> batch = BatchRows.lastPerKey(rows, FutureHorseWriter::key);
+        if (batch.isEmpty()) return 0;
+
+        jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (ps, h) -> {
+            ps.setObject(1, h.getDate(), Types.DATE);
+            ps.setString(2, h.getTrack());
+            ps.setString(3, h.getLap());
+            ps.setString(4, h.getNumberOfHorse());
+            ps.setString(5, h.getNameOfHorse());
+            ps.setString(6, h.getVOdds());
+        });
+        return batch.size();
+    }
+
+    /** (date, track, lap, number_of_horse), or null when one is missing. */
+    private static List<Object> key(FutureHorse h) {
+        if (h.getDate() == null || h.getTrack() == null || h.getLap() == null || h.getNumberOfHorse() == null) return null;
+        return List.of(h.getDate(), h.getTrack(), h.getLap(), h.getNumberOfHorse());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.HorseStartCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HorseStartCounterRepo extends JpaRepository<HorseStartCounter, String> {
+
+    /**
+     * Blocks ResultHorseWriter's counting until the transaction ends, and waits for writers that have counted
+     * but not committed: the recount then sees every start that is counted.
+     */
+    @Modifying
+    @Query(value = "lock table horse_start_counter in exclusive mode", nativeQuery = true)
+    int lockAgainstWriters();
+
+    /**
+     * Recounts starts and latest date per horse from resultat, as migration V4 first filled the table, and
+     * overwrites the counters that differ. Returns the number of rows inserted or changed.
+     */
+    @Modifying
+    @Query(value = """
+                insert into horse_start_counter as c (namn, starts, last_datum)
+                select r.namn, count(*), coalesce(max(r.datum), 0)
+                from resultat r
+                where r.namn is not null
+                group by r.namn
+                on conflict (namn) do update set
+                    starts     = excluded.starts,
+                    last_datum = excluded.last_datum
+                where (c.starts, c.last_datum) is distinct from (excluded.starts, excluded.last_datum)
+            """, nativeQuery = true)
+    int upsertFromResults();
+
+    /**
+     * Removes counters of horses that no longer have any resultat row. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query(value = """
+                delete from horse_start_counter c
+                where not exists (select 1 from resultat r where r.namn = c.namn)
+            """, nativeQuery = true)
+    int deleteWithoutResults();
+}
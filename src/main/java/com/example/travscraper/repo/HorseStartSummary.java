@@ -1,8 +0,0 @@
-package com.example.travscraper.repo;
-
-
-public interface HorseStartSummary {
-    String getName();
-    Integer getLastDate();
-    Long getStarts();
-}
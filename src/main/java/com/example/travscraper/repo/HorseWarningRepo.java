@@ -2,8 +2,24 @@ package com.example.travscraper.repo;
 
 import com.example.travscraper.entity.HorseWarning;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HorseWarningRepo extends JpaRepository<HorseWarning, Long> {
+
+    /**
+     * Fills kontroll with every horse that has fewer than {@code minStarts} starts, with its latest date, from
+     * horse_start_counter (a range scan on its starts index). Returns the number of rows inserted.
+     */
+    @Modifying
+    @Query(value = """
+                insert into kontroll (id, datum, namn, starter)
+                select nextval('kontroll_id_seq'), c.last_datum, c.namn, c.starts
+                from horse_start_counter c
+                where c.starts < :minStarts
+            """, nativeQuery = true)
+    int insertFromStartCounters(@Param("minStarts") int minStarts);
 }
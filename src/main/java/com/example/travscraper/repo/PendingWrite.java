@@ -0,0 +1,49 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.FutureHorse;
+import com.example.travscraper.entity.ResultHorse;
+import com.example.travscraper.entity.ScrapedHorse;
+
+import java.util.List;
+
+/**
+ * A batch of rows a scraper hands to {@link WriteBehind}; one record per kind of write.
+ */
+public sealed interface PendingWrite {
+
+    int rows();
+
+    /** A result lap for {@link ScrapedHorseWriter#upsert}. */
+    record ScrapedHorses(List<ScrapedHorse> horses) implements PendingWrite {
+        public int rows() {
+            return horses.size();
+        }
+    }
+
+    /** Previous starts read from one lap's "Mer info" panels, for {@link ResultHorseWriter#upsertPreviousStarts}. */
+    record PreviousStarts(List<ResultHorse> results) implements PendingWrite {
+        public int rows() {
+            return results.size();
+        }
+    }
+
+    /**
+     * A future lap: the future_horse rows and the odds/kusk/distans for {@link ResultHorseWriter#writeFutureFields}.
+     */
+    record FutureLap(List<FutureHorse> futureHorses, List<ResultHorse> resultFields, boolean createResultRows)
+            implements PendingWrite {
+        public int rows() {
+            return futureHorses.size() + resultFields.size();
+        }
+    }
+
+    /**
+     * A batch that finishes a unit of work: {@link WriteBehind} writes its checkpoint in the batch's savepoint,
+     * so the checkpoint exists exactly when the rows do. Counts one row more, so an empty lap is still written.
+     */
+    record Checkpointed(PendingWrite write, ScrapeCheckpoints.Key key, long contentHash) implements PendingWrite {
+        public int rows() {
+            return write.rows() + 1;
+        }
+    }
+}
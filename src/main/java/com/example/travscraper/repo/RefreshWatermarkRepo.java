@@ -0,0 +1,9 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.RefreshWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshWatermarkRepo extends JpaRepository<RefreshWatermark, String> {
+}
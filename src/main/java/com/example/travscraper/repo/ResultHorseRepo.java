@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,43 +15,22 @@ public interface ResultHorseRepo extends JpaRepository<ResultHorse, Long> {
 
     Optional<ResultHorse> findByDatumAndBankodAndLoppAndNamn(Integer datum, String bankod, Integer lopp, String namn);
 
-    @Query("""
-                select 
-                    r.namn as name,
-                    max(r.datum) as lastDate,
-                    count(r) as starts
-                from ResultHorse r
-                where r.namn is not null
-                group by r.namn
-                having count(r) < :minStarts
-            """)
-    List<HorseStartSummary> findHorsesWithStartsLessThan(@Param("minStarts") long minStarts);
+    List<ResultHorse> findByDatumAndBankodAndLopp(Integer datum, String bankod, Integer lopp);
+
+    @Query("select max(r.datum) from ResultHorse r")
+    Integer findMaxDatum();
+
+    @Query("select max(r.updatedAt) from ResultHorse r")
+    OffsetDateTime findMaxUpdatedAt();
 
+    /**
+     * Dates with rows after {@code lastDatum} or rows written after {@code since}.
+     */
     @Query("""
-                select r
+                select distinct r.datum
                 from ResultHorse r
-                where r.placering is not null
-                  and r.placering not in (15, 99)
-                  and r.tid = 99.0
-                order by r.datum, r.bankod, r.lopp, r.nr, r.namn
+                where r.datum > :lastDatum
+                   or r.updatedAt > :since
             """)
-    List<ResultHorse> findHorsesWithPlacementAndTid99();
-
-    @Query(value = """
-                select distinct
-                    r1.datum as datum,
-                    r1.bankod as track1,
-                    r2.bankod as track2,
-                    r1.namn as "horseName"
-                from resultat r1
-                join resultat r2
-                  on r1.datum = r2.datum
-                 and r1.namn = r2.namn
-                 and r1.bankod < r2.bankod
-                where r1.namn is not null
-                  and trim(r1.namn) <> ''
-                  and r1.bankod is not null
-                  and r2.bankod is not null
-            """, nativeQuery = true)
-    List<DoubleGangerCandidate> findDoubleGangerCandidates();
+    List<Integer> findDatesChangedSince(@Param("lastDatum") int lastDatum, @Param("since") OffsetDateTime since);
 }
@@ -0,0 +1,184 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.ResultHorse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched writes to {@code resultat} keyed on (datum, bankod, lopp, namn). Ids come from
+ * {@code resultat_id_seq}, the sequence Hibernate allocates its blocks from, so the two never collide.
+ * The merge rules the scrapers used to apply row by row in Java live in the SQL, so a batch is one round trip
+ * with no reads first:
+ * <ul>
+ *   <li>nr is set on insert and never changed afterwards</li>
+ *   <li>null distans/spar/placering/tid and blank startmetod/galopp/underlag/kusk keep the stored value</li>
+ *   <li>pris is always the scraped value</li>
+ *   <li>odds 999 means "no odds" and keeps the stored value; 99 (EJ) and real odds replace it</li>
+ * </ul>
+ * The same statement keeps the derived tables current: each inserted row (not an update) counts a start in
+ * {@code horse_start_counter}, and a previous start adds, updates or removes its {@code tid_99_warning} row.
+ * The year partitions must exist first: WriteBehind creates them through ResultPartitions before it opens the
+ * transaction the rows are written in.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResultHorseWriter {
+
+    private static final int NO_ODDS = 999;
+
+    /**
+     * Closes {@code WITH upserted AS (INSERT INTO resultat AS r ...}: xmax is 0 only for a row this statement
+     * inserted, and placering/tid are the merged values.
+     */
+    private static final String RETURNING_UPSERTED = """
+                RETURNING r.datum, r.bankod, r.lopp, r.nr, r.namn, r.placering, r.tid, (r.xmax = 0) AS inserted
+            )
+            """;
+
+    private static final String COUNT_NEW_STARTS = """
+            INSERT INTO horse_start_counter AS c (namn, starts, last_datum)
+            SELECT namn, 1, datum FROM upserted WHERE inserted
+            ON CONFLICT (namn) DO UPDATE SET
+                starts     = c.starts + 1,
+                last_datum = GREATEST(c.last_datum, EXCLUDED.last_datum)
+            """;
+
+    /** Same condition as Tid99WarningRepo's full rebuild: placed (not 15/99) with tid 99. */
+    private static final String TID_99 = "u.placering IS NOT NULL AND u.placering NOT IN (15, 99) AND COALESCE(u.tid, 0) = 99.0";
+
+    private static final String UPSERT_PREVIOUS_START = """
+            WITH upserted AS (
+            INSERT INTO resultat AS r (id, datum, bankod, lopp, nr, namn, distans, spar, placering, tid,
+                                       startmetod, galopp, underlag, pris, odds, kusk)
+            VALUES (nextval('resultat_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (datum, bankod, lopp, namn) DO UPDATE SET
+                distans    = COALESCE(EXCLUDED.distans, r.distans),
+                spar       = COALESCE(EXCLUDED.spar, r.spar),
+                placering  = COALESCE(EXCLUDED.placering, r.placering),
+                tid        = COALESCE(EXCLUDED.tid, r.tid),
+                startmetod = COALESCE(NULLIF(EXCLUDED.startmetod, ''), r.startmetod),
+                galopp     = COALESCE(NULLIF(EXCLUDED.galopp, ''), r.galopp),
+                underlag   = COALESCE(NULLIF(EXCLUDED.underlag, ''), r.underlag),
+                pris       = EXCLUDED.pris,
+                odds       = CASE WHEN EXCLUDED.odds = 999 THEN r.odds ELSE EXCLUDED.odds END,
+                kusk       = COALESCE(NULLIF(EXCLUDED.kusk, ''), r.kusk)
+            """ + RETURNING_UPSERTED + """
+            , counted AS (
+            """ + COUNT_NEW_STARTS + """
+                RETURNING c.namn
+            ), flagged AS (
+                INSERT INTO tid_99_warning AS w (id, datum, bankod, lopp, nr, namn, placering, tid)
+                SELECT nextval('tid_99_warning_id_seq'), u.datum, u.bankod, u.lopp, u.nr, u.namn, u.placering, u.tid
+                FROM upserted u
+                WHERE\s""" + TID_99 + "\n" + """
+                ON CONFLICT (datum, bankod, lopp, nr, namn) DO UPDATE SET
+                    placering = EXCLUDED.placering,
+                    tid       = EXCLUDED.tid
+                RETURNING w.id
+            )
+            DELETE FROM tid_99_warning w
+            USING upserted u
+            WHERE w.datum = u.datum AND w.bankod = u.bankod AND w.lopp = u.lopp AND w.namn = u.namn
+              AND NOT (""" + TID_99 + ")";
+
+    private static final String UPSERT_FUTURE_FIELDS = """
+            WITH upserted AS (
+            INSERT INTO resultat AS r (id, datum, bankod, lopp, nr, namn, startmetod, galopp, underlag, pris,
+                                       odds, kusk, distans)
+            VALUES (nextval('resultat_id_seq'), ?, ?, ?, ?, ?, '', '', '', 0, ?, ?, ?)
+            ON CONFLICT (datum, bankod, lopp, namn) DO UPDATE SET
+                odds    = CASE WHEN EXCLUDED.odds = 999 THEN r.odds ELSE EXCLUDED.odds END,
+                kusk    = COALESCE(NULLIF(EXCLUDED.kusk, ''), r.kusk),
+                distans = COALESCE(EXCLUDED.distans, r.distans)
+            """ + RETURNING_UPSERTED + COUNT_NEW_STARTS;
+
+    private static final String UPDATE_FUTURE_FIELDS = """
+            UPDATE resultat SET
+                odds    = CASE WHEN ? = 999 THEN odds ELSE ? END,
+                kusk    = COALESCE(NULLIF(?, ''), kusk),
+                distans = COALESCE(?, distans)
+            WHERE datum = ? AND bankod = ? AND lopp = ? AND namn = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows read from a horse's previous starts. Returns the number of rows sent.
+     */
+    public int upsertPreviousStarts(Collection<ResultHorse> rows) {
+        List<ResultHorse> batch = BatchRows.lastPerKey(rows, ResultHorseWriter::key);
+        if (batch.isEmpty()) return 0;
+
+        jdbcTemplate.batchUpdate(UPSERT_PREVIOUS_START, batch, batch.size(), (ps, rh) -> {
+            ps.setInt(1, rh.getDatum());
+            ps.setString(2, rh.getBankod());
+            ps.setInt(3, rh.getLopp());
+            ps.setInt(4, rh.getNr() != null ? rh.getNr() : 0);
+            ps.setString(5, nonNull(rh.getNamn()));
+            ps.setObject(6, rh.getDistans(), Types.INTEGER);
+            ps.setObject(7, rh.getSpar(), Types.INTEGER);
+            ps.setObject(8, rh.getPlacering(), Types.INTEGER);
+            ps.setObject(9, rh.getTid(), Types.DOUBLE);
+            ps.setString(10, nonNull(rh.getStartmetod()));
+            ps.setString(11, nonNull(rh.getGalopp()));
+            ps.setString(12, nonNull(rh.getUnderlag()));
+            ps.setInt(13, rh.getPris() != null ? rh.getPris() : 0);
+            ps.setInt(14, rh.getOdds() != null ? rh.getOdds() : NO_ODDS);
+            ps.setString(15, nonNull(rh.getKusk()));
+        });
+        return batch.size();
+    }
+
+    /**
+     * Odds, kusk and distans from a future startlist. With {@code createMissing} a missing row is inserted,
+     * otherwise only existing rows are touched. Returns the number of rows sent.
+     */
+    public int writeFutureFields(Collection<ResultHorse> rows, boolean createMissing) {
+        List<ResultHorse> batch = BatchRows.lastPerKey(rows, ResultHorseWriter::key);
+        if (batch.isEmpty()) return 0;
+
+        if (createMissing) {
+            jdbcTemplate.batchUpdate(UPSERT_FUTURE_FIELDS, batch, batch.size(), (ps, rh) -> {
+                ps.setInt(1, rh.getDatum());
+                ps.setString(2, rh.getBankod());
+                ps.setInt(3, rh.getLopp());
+                ps.setInt(4, rh.getNr() != null ? rh.getNr() : 0);
+                ps.setString(5, nonNull(rh.getNamn()));
+                ps.setInt(6, rh.getOdds() != null ? rh.getOdds() : NO_ODDS);
+                ps.setString(7, nonNull(rh.getKusk()));
+                ps.setObject(8, rh.getDistans(), Types.INTEGER);
+            });
+        } else {
+            jdbcTemplate.batchUpdate(UPDATE_FUTURE_FIELDS, batch, batch.size(), (ps, rh) -> {
+                int odds = rh.getOdds() != null ? rh.getOdds() : NO_ODDS;
+                ps.setInt(1, odds);
+                ps.setInt(2, odds);
+                ps.setString(3, nonNull(rh.getKusk()));
+                ps.setObject(4, rh.getDistans(), Types.INTEGER);
+                ps.setInt(5, rh.getDatum());
+                ps.setString(6, rh.getBankod());
+                ps.setInt(7, rh.getLopp());
+                ps.setString(8, nonNull(rh.getNamn()));
+            });
+        }
+        return batch.size();
+    }
+
+    /**
+     * (datum, bankod, lopp, namn), or null when one of the first three is missing. The WITH statements are not
+     * rewritten into multi-row INSERTs, but a repeat would merge into the row's own earlier write in the batch.
+     */
+    private static List<Object> key(ResultHorse rh) {
+        if (rh.getDatum() == null || rh.getBankod() == null || rh.getLopp() == null) return null;
+        return List.of(rh.getDatum(), rh.getBankod(), rh.getLopp(), nonNull(rh.getNamn()));
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+}
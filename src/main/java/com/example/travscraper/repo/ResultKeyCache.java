@@ -0,0 +1,522 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.entity.ResultHorse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Run-scoped copy of the {@code resultat} rows a job reads and writes, so repeated lookups of the same
+ * (datum, bankod, lopp, namn) stay in memory. A job calls {@link #begin} with its date range (preloaded in one
+ * query) and {@link #end} when its writes are flushed; other dates are loaded one meeting (datum, bankod) at a
+ * time on first use. The four key fields are packed into one {@code long} (day, lopp and dictionary ids for
+ * bankod and namn) in an open-addressing table, and column values live in primitive arrays.
+ * <p>
+ * {@link #record} applies a batch to the cache when it is handed to {@link WriteBehind}, using the same merge
+ * rules as ResultHorseWriter's SQL, so later checks see the pending values; {@link #forget} drops the rows of a
+ * batch that failed and reloads their meetings on next use. Keys that cannot be packed go to the database.
+ * Only stored rows add strings to the dictionaries: a lookup of a string that was never stored is a miss.
+ */
+@Slf4j
+@Component
+public class ResultKeyCache {
+
+    private static final String SELECT_COLUMNS = """
+            SELECT datum, bankod, lopp, namn, distans, spar, placering, tid,
+                   startmetod, galopp, underlag, pris, odds, kusk
+            FROM resultat
+            """;
+    static final String SELECT_RANGE = SELECT_COLUMNS + "WHERE datum BETWEEN ? AND ?";
+    static final String SELECT_MEETING = SELECT_COLUMNS + "WHERE datum = ? AND bankod = ?";
+
+    private static final int NULL = Integer.MIN_VALUE;
+    /** Row index of a key that cannot be packed; the caller goes to the database. */
+    private static final int UNCACHED = -2;
+    private static final int NO_ODDS = 999;
+
+    private static final int DISTANS = 0, SPAR = 1, PLACERING = 2, PRIS = 3, ODDS = 4,
+            STARTMETOD = 5, GALOPP = 6, UNDERLAG = 7, KUSK = 8, FIELDS = 9;
+
+    /** Key layout, high to low: day 17 bits, lopp 8, bankod id 11, namn id 28 (ids start at 1, so 0 is free). */
+    private static final int DAY_BITS = 17, LOPP_BITS = 8, CODE_BITS = 11, NAME_BITS = 28;
+    private static final int FIRST_YEAR = 1900;
+    private static final int DAYS_PER_YEAR = 12 * 31;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultHorseRepo resultRepo;
+    private final int maxRows;
+
+    private final Dictionary codes = new Dictionary();
+    private final Dictionary texts = new Dictionary();
+
+    /** Open-addressing table: packed key (0 = empty) and row index (-1 = known not to exist). */
+    private long[] keys;
+    private int[] rowOf;
+    private int used;
+
+    private int[] values;
+    private double[] tids;
+    private int rows;
+
+    /** Preloaded [from, to] datum ranges of the runs in progress; jobs may overlap, the last one out clears. */
+    private final List<int[]> ranges = new ArrayList<>();
+    private int runs;
+    private final Set<Long> loadedMeetings = new HashSet<>();
+    private final Set<Long> staleMeetings = new HashSet<>();
+
+    private long hits;
+    private long misses;
+    private long loads;
+
+    public ResultKeyCache(JdbcTemplate jdbcTemplate, ResultHorseRepo resultRepo, ScraperProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.resultRepo = resultRepo;
+        this.maxRows = Math.max(1_000, props.getResultCacheMaxRows());
+        reset();
+    }
+
+    /**
+     * Starts a run and loads every row with datum in [fromDatum, toDatum] (yyyymmdd). The first run to start
+     * begins with an empty cache.
+     */
+    public synchronized void begin(int fromDatum, int toDatum) {
+        if (runs++ == 0) {
+            reset();
+            hits = misses = loads = 0;
+        }
+        int before = rows;
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query(SELECT_RANGE, (RowCallbackHandler) this::load, fromDatum, toDatum);
+        ranges.add(new int[]{fromDatum, toDatum});
+        log.info("🧠 Result cache: preloaded {} rows for {}–{} in {} ms", rows - before, fromDatum, toDatum,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Ends a run; the last run to end releases the memory.
+     */
+    public synchronized void end() {
+        if (runs > 0 && --runs > 0) return;
+        if (hits + misses > 0) {
+            log.info("🧠 Result cache: {} lookups answered from memory, {} from the database, {} meetings loaded, {} rows",
+                    hits, misses, loads, rows);
+        }
+        reset();
+    }
+
+    /**
+     * The stored row for the natural key, without id and nr; the cached equivalent of
+     * {@link ResultHorseRepo#findByDatumAndBankodAndLoppAndNamn}.
+     */
+    public synchronized Optional<ResultHorse> find(Integer datum, String bankod, Integer lopp, String namn) {
+        trim();
+        int row = lookup(datum, bankod, lopp, namn);
+        if (row == UNCACHED) {
+            misses++;
+            return resultRepo.findByDatumAndBankodAndLoppAndNamn(datum, bankod, lopp, namn);
+        }
+        return row < 0 ? Optional.empty() : Optional.of(toResultHorse(datum, bankod, lopp, namn, row));
+    }
+
+    /**
+     * Whether ResultHorseWriter#upsertPreviousStarts would insert or change this row.
+     */
+    public synchronized boolean changesPreviousStart(ResultHorse rh) {
+        trim();
+        int row = lookup(rh);
+        if (row == UNCACHED) return true;
+        return row < 0 || !Arrays.equals(mergePreviousStart(row, rh, false), 0, FIELDS, values, row * FIELDS, (row + 1) * FIELDS)
+                || !sameTid(rh.getTid() != null ? rh.getTid() : tids[row], tids[row]);
+    }
+
+    /**
+     * Whether ResultHorseWriter#writeFutureFields would insert or change this row.
+     */
+    public synchronized boolean changesFutureFields(ResultHorse rh, boolean createMissing) {
+        trim();
+        int row = lookup(rh);
+        if (row == UNCACHED) return true;
+        if (row < 0) return createMissing;
+        return !Arrays.equals(mergeFutureFields(row, rh, false), 0, FIELDS, values, row * FIELDS, (row + 1) * FIELDS);
+    }
+
+    /**
+     * Applies a batch that is about to be written, as the database will once it is.
+     */
+    public synchronized void record(PendingWrite batch) {
+        trim();
+        if (batch instanceof PendingWrite.Checkpointed c) batch = c.write();
+        if (batch instanceof PendingWrite.PreviousStarts b) {
+            for (ResultHorse rh : b.results()) {
+                long key = key(rh);
+                if (key == 0) continue;
+                int row = row(key, rh.getDatum(), rh.getBankod());
+                if (row < 0) row = insert(key, emptyRow(), Double.NaN);
+                int[] merged = mergePreviousStart(row, rh, true);
+                System.arraycopy(merged, 0, values, row * FIELDS, FIELDS);
+                if (rh.getTid() != null) tids[row] = rh.getTid();
+            }
+        } else if (batch instanceof PendingWrite.FutureLap b) {
+            for (ResultHorse rh : b.resultFields()) {
+                long key = key(rh);
+                if (key == 0) continue;
+                int row = row(key, rh.getDatum(), rh.getBankod());
+                if (row < 0) {
+                    if (!b.createResultRows()) continue;
+                    row = insert(key, emptyRow(), Double.NaN);
+                }
+                System.arraycopy(mergeFutureFields(row, rh, true), 0, values, row * FIELDS, FIELDS);
+            }
+        }
+    }
+
+    /**
+     * Drops the rows of a batch that could not be written; their meetings are read again on next use.
+     */
+    public synchronized void forget(PendingWrite batch) {
+        if (batch instanceof PendingWrite.Checkpointed c) batch = c.write();
+        List<ResultHorse> rowsOfBatch;
+        if (batch instanceof PendingWrite.PreviousStarts b) {
+            rowsOfBatch = b.results();
+        } else if (batch instanceof PendingWrite.FutureLap b) {
+            rowsOfBatch = b.resultFields();
+        } else {
+            return;
+        }
+        for (ResultHorse rh : rowsOfBatch) {
+            // Looked up, not interned: strings the cache no longer knows have no row or meeting to drop.
+            long key = packedKey(rh.getDatum(), rh.getBankod(), rh.getLopp(), nonNull(rh.getNamn()), false);
+            if (key == 0) continue;
+            int slot = slot(key);
+            if (keys[slot] == key) rowOf[slot] = -1;
+            long meeting = meeting(rh.getDatum(), codes.find(rh.getBankod()));
+            loadedMeetings.remove(meeting);
+            staleMeetings.add(meeting);
+        }
+    }
+
+    // ---- merge rules, as in ResultHorseWriter's SQL ----
+
+    /**
+     * The row as the upsert would leave it. With {@code intern} false (a check, not a write) a text that was never
+     * stored becomes id 0, which no stored row has, instead of a new dictionary entry.
+     */
+    private int[] mergePreviousStart(int row, ResultHorse rh, boolean intern) {
+        int[] merged = Arrays.copyOfRange(values, row * FIELDS, (row + 1) * FIELDS);
+        keepUnlessNull(merged, DISTANS, rh.getDistans());
+        keepUnlessNull(merged, SPAR, rh.getSpar());
+        keepUnlessNull(merged, PLACERING, rh.getPlacering());
+        keepUnlessBlank(merged, STARTMETOD, rh.getStartmetod(), intern);
+        keepUnlessBlank(merged, GALOPP, rh.getGalopp(), intern);
+        keepUnlessBlank(merged, UNDERLAG, rh.getUnderlag(), intern);
+        merged[PRIS] = rh.getPris() != null ? rh.getPris() : 0;
+        keepOnNoOdds(merged, rh.getOdds());
+        keepUnlessBlank(merged, KUSK, rh.getKusk(), intern);
+        return merged;
+    }
+
+    private int[] mergeFutureFields(int row, ResultHorse rh, boolean intern) {
+        int[] merged = Arrays.copyOfRange(values, row * FIELDS, (row + 1) * FIELDS);
+        keepOnNoOdds(merged, rh.getOdds());
+        keepUnlessBlank(merged, KUSK, rh.getKusk(), intern);
+        keepUnlessNull(merged, DISTANS, rh.getDistans());
+        return merged;
+    }
+
+    /** Column defaults of a row the upsert inserts, before the batch's values are merged in. */
+    private int[] emptyRow() {
+        int[] row = new int[FIELDS];
+        row[DISTANS] = row[SPAR] = row[PLACERING] = NULL;
+        row[PRIS] = 0;
+        row[ODDS] = NO_ODDS;
+        row[STARTMETOD] = row[GALOPP] = row[UNDERLAG] = row[KUSK] = texts.id("");
+        return row;
+    }
+
+    private static void keepUnlessNull(int[] merged, int field, Integer value) {
+        if (value != null) merged[field] = value;
+    }
+
+    private void keepUnlessBlank(int[] merged, int field, String value, boolean intern) {
+        if (value != null && !value.isEmpty()) merged[field] = intern ? texts.id(value) : texts.find(value);
+    }
+
+    private static void keepOnNoOdds(int[] merged, Integer odds) {
+        int value = odds != null ? odds : NO_ODDS;
+        if (value != NO_ODDS) merged[ODDS] = value;
+    }
+
+    private static boolean sameTid(double a, double b) {
+        return Double.compare(a, b) == 0;
+    }
+
+    // ---- table ----
+
+    /**
+     * Row index for the natural key without adding to the dictionaries: -1 when there is no such row (a bankod or
+     * namn never stored included), {@link #UNCACHED} when the key cannot be packed.
+     */
+    private int lookup(ResultHorse rh) {
+        return lookup(rh.getDatum(), rh.getBankod(), rh.getLopp(), nonNull(rh.getNamn()));
+    }
+
+    private int lookup(Integer datum, String bankod, Integer lopp, String namn) {
+        if (datum == null || bankod == null || lopp == null || namn == null) return UNCACHED;
+        if (day(datum) < 0 || lopp < 0 || lopp >= 1 << LOPP_BITS) return UNCACHED;
+        covered(datum, bankod);
+        int code = codes.find(bankod);
+        int name = texts.find(namn);
+        if (code >= 1 << CODE_BITS || name >= 1 << NAME_BITS) return UNCACHED;
+        if (code == 0 || name == 0) return -1;
+        long key = pack(day(datum), lopp, code, name);
+        int slot = slot(key);
+        return keys[slot] == key ? rowOf[slot] : -1;
+    }
+
+    /** Row index for a packed key, loading its meeting first when this run has not read it yet; -1 when absent. */
+    private int row(long key, int datum, String bankod) {
+        covered(datum, bankod);
+        int slot = slot(key);
+        return keys[slot] == key ? rowOf[slot] : -1;
+    }
+
+    /**
+     * Loads the meeting unless this run has it. A loaded meeting is remembered by its bankod id, so its bankod is
+     * interned even when it has no rows.
+     */
+    private void covered(int datum, String bankod) {
+        long meeting = meeting(datum, codes.id(bankod));
+        boolean covered = !staleMeetings.contains(meeting) && (preloaded(datum) || loadedMeetings.contains(meeting));
+        if (covered) {
+            hits++;
+        } else {
+            misses++;
+            loads++;
+            jdbcTemplate.query(SELECT_MEETING, (RowCallbackHandler) this::load, datum, bankod);
+            staleMeetings.remove(meeting);
+            loadedMeetings.add(meeting);
+        }
+    }
+
+    private boolean preloaded(int datum) {
+        for (int[] range : ranges) {
+            if (datum >= range[0] && datum <= range[1]) return true;
+        }
+        return false;
+    }
+
+    private void load(ResultSet rs) throws SQLException {
+        long key = key(rs.getInt("datum"), rs.getString("bankod"), rs.getInt("lopp"), rs.getString("namn"));
+        if (key == 0) return;
+        int slot = slot(key);
+        // A row recorded from a pending write is newer than what the database has.
+        if (keys[slot] == key && rowOf[slot] >= 0) return;
+
+        int[] row = new int[FIELDS];
+        row[DISTANS] = intOrNull(rs, "distans");
+        row[SPAR] = intOrNull(rs, "spar");
+        row[PLACERING] = intOrNull(rs, "placering");
+        row[PRIS] = rs.getInt("pris");
+        row[ODDS] = rs.getInt("odds");
+        row[STARTMETOD] = texts.id(rs.getString("startmetod"));
+        row[GALOPP] = texts.id(rs.getString("galopp"));
+        row[UNDERLAG] = texts.id(rs.getString("underlag"));
+        row[KUSK] = texts.id(rs.getString("kusk"));
+        double tid = rs.getDouble("tid");
+        insert(key, row, rs.wasNull() ? Double.NaN : tid);
+    }
+
+    private int insert(long key, int[] row, double tid) {
+        if (values.length < (rows + 1) * FIELDS) {
+            values = Arrays.copyOf(values, values.length * 2);
+            tids = Arrays.copyOf(tids, tids.length * 2);
+        }
+        System.arraycopy(row, 0, values, rows * FIELDS, FIELDS);
+        tids[rows] = tid;
+
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            if ((used + 1) * 2 > keys.length) {
+                rehash();
+                slot = slot(key);
+            }
+            keys[slot] = key;
+            used++;
+        }
+        rowOf[slot] = rows;
+        return rows++;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldRows = rowOf;
+        keys = new long[oldKeys.length * 2];
+        rowOf = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = slot(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            rowOf[slot] = oldRows[i];
+        }
+    }
+
+    /**
+     * Starts over once the cache holds {@code scraper.result-cache-max-rows} rows. Only called between
+     * operations: the packed keys a method is holding use dictionary ids that a reset gives away.
+     */
+    private void trim() {
+        if (rows < maxRows) return;
+        log.info("🧠 Result cache reached {} rows, starting over", rows);
+        reset();
+    }
+
+    private void reset() {
+        keys = new long[1 << 12];
+        rowOf = new int[1 << 12];
+        used = 0;
+        values = new int[(1 << 11) * FIELDS];
+        tids = new double[1 << 11];
+        rows = 0;
+        codes.clear();
+        texts.clear();
+        ranges.clear();
+        loadedMeetings.clear();
+        staleMeetings.clear();
+    }
+
+    private ResultHorse toResultHorse(int datum, String bankod, int lopp, String namn, int row) {
+        int at = row * FIELDS;
+        return ResultHorse.builder()
+                .datum(datum).bankod(bankod).lopp(lopp).namn(namn)
+                .distans(nullable(values[at + DISTANS]))
+                .spar(nullable(values[at + SPAR]))
+                .placering(nullable(values[at + PLACERING]))
+                .tid(Double.isNaN(tids[row]) ? null : tids[row])
+                .startmetod(texts.value(values[at + STARTMETOD]))
+                .galopp(texts.value(values[at + GALOPP]))
+                .underlag(texts.value(values[at + UNDERLAG]))
+                .pris(values[at + PRIS])
+                .odds(values[at + ODDS])
+                .kusk(texts.value(values[at + KUSK]))
+                .build();
+    }
+
+    // ---- keys ----
+
+    /** Packed key of a row being stored, interning its bankod and namn. */
+    private long key(ResultHorse rh) {
+        return key(rh.getDatum(), rh.getBankod(), rh.getLopp(), nonNull(rh.getNamn()));
+    }
+
+    private long key(Integer datum, String bankod, Integer lopp, String namn) {
+        return packedKey(datum, bankod, lopp, namn, true);
+    }
+
+    /**
+     * Packed key, or 0 when a part does not fit (the caller then goes to the database) or, without
+     * {@code intern}, when bankod or namn is not in the dictionaries.
+     */
+    private long packedKey(Integer datum, String bankod, Integer lopp, String namn, boolean intern) {
+        if (datum == null || bankod == null || lopp == null || namn == null) return 0;
+        int day = day(datum);
+        if (day < 0 || lopp < 0 || lopp >= 1 << LOPP_BITS) return 0;
+        int code = intern ? codes.id(bankod) : codes.find(bankod);
+        int name = intern ? texts.id(namn) : texts.find(namn);
+        if (code == 0 || name == 0 || code >= 1 << CODE_BITS || name >= 1 << NAME_BITS) return 0;
+        return pack(day, lopp, code, name);
+    }
+
+    private static long pack(int day, int lopp, int code, int name) {
+        return (long) day << (LOPP_BITS + CODE_BITS + NAME_BITS)
+                | (long) lopp << (CODE_BITS + NAME_BITS)
+                | (long) code << NAME_BITS
+                | name;
+    }
+
+    private static long meeting(int datum, int code) {
+        return (long) datum << 32 | code;
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    /** Number of strings in the dictionaries. */
+    synchronized int internedStrings() {
+        return codes.size() + texts.size();
+    }
+
+    /** yyyymmdd as a day number from 1900 (31 days per month, which is enough to be unique); -1 if not a date. */
+    private static int day(int datum) {
+        int year = datum / 10000, month = datum / 100 % 100, dayOfMonth = datum % 100;
+        if (year < FIRST_YEAR || month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > 31) return -1;
+        int day = (year - FIRST_YEAR) * DAYS_PER_YEAR + (month - 1) * 31 + dayOfMonth - 1;
+        return day < 1 << DAY_BITS ? day : -1;
+    }
+
+    private static int intOrNull(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? NULL : value;
+    }
+
+    private static Integer nullable(int value) {
+        return value == NULL ? null : value;
+    }
+
+    /** Strings to small ids, starting at 1; null is stored as "". */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            String v = value != null ? value : "";
+            Integer id = ids.get(v);
+            if (id == null) {
+                values.add(v);
+                id = values.size();
+                ids.put(v, id);
+            }
+            return id;
+        }
+
+        /** The id of a stored string, or 0 when it has none; never adds. */
+        int find(String value) {
+            Integer id = ids.get(value != null ? value : "");
+            return id != null ? id : 0;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        String value(int id) {
+            return values.get(id - 1);
+        }
+
+        void clear() {
+            ids.clear();
+            values.clear();
+        }
+    }
+}
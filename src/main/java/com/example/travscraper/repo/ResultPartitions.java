@@ -0,0 +1,84 @@
+package com.example.travscraper.repo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes sure every year a write touches has its own {@code resultat} partition (see
+ * V7__partition_resultat_by_year.sql), so rows never pile up in {@code resultat_default}. Known years are
+ * cached; on first use the years already in the default partition are moved out to their own partitions.
+ * Each partition is created in its own committed transaction and only cached after that, so a write that rolls
+ * back can never leave a year cached without its partition. Call it before opening the write's transaction:
+ * attaching a partition waits for every transaction that has touched {@code resultat_default}, the caller's too.
+ */
+@Slf4j
+@Component
+public class ResultPartitions {
+
+    /** Below this a datum is not a real date (0 is the "unknown" default) and stays in the default partition. */
+    private static final int FIRST_YEAR = 1900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTx;
+    private final Set<Integer> knownYears = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public ResultPartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Creates the partitions missing for the given datums (yyyymmdd), each committed before this returns.
+     */
+    public void ensureFor(Collection<Integer> datums) {
+        load();
+
+        Set<Integer> missing = new TreeSet<>();
+        for (Integer datum : datums) {
+            if (datum == null) continue;
+            int year = datum / 10000;
+            if (year >= FIRST_YEAR && !knownYears.contains(year)) missing.add(year);
+        }
+        for (int year : missing) create(year);
+    }
+
+    private void load() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+
+            knownYears.addAll(jdbcTemplate.queryForList("""
+                    SELECT substring(c.relname FROM 'resultat_y(\\d+)')::integer
+                    FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    WHERE i.inhparent = 'resultat'::regclass
+                      AND c.relname ~ '^resultat_y\\d+$'
+                    """, Integer.class));
+
+            for (Integer year : jdbcTemplate.queryForList(
+                    "SELECT DISTINCT datum / 10000 FROM resultat_default WHERE datum >= ?", Integer.class,
+                    FIRST_YEAR * 10000)) {
+                create(year);
+            }
+            loaded = true;
+        }
+    }
+
+    private void create(int year) {
+        ownTx.executeWithoutResult(status ->
+                jdbcTemplate.queryForObject("SELECT resultat_ensure_year(?)::text", String.class, year));
+        knownYears.add(year);
+        log.info("🗄️  resultat partition for {} ready", year);
+    }
+}
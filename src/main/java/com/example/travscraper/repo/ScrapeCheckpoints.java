@@ -0,0 +1,87 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code scrape_checkpoint} table: which (job, date, track, lap, product) units a scraper has finished, with a
+ * checksum of the rows it wrote. With {@code scraper.resume} the scrapers read a track's finished laps before
+ * navigating it and skip them. Checkpoints older than {@code scraper.resume-max-age-hours} are ignored, as start
+ * lists, odds and streck keep changing until the race. Checkpoints of write-behind rows are written by
+ * {@link WriteBehind} in the savepoint of their rows ({@link PendingWrite.Checkpointed}); the reduced scrapers
+ * write theirs after saving.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScrapeCheckpoints {
+
+    static final String SELECT_LAPS = """
+            SELECT lap FROM scrape_checkpoint
+            WHERE job = ? AND date = ? AND track = ? AND product = ? AND completed_at >= ?
+            """;
+
+    static final String UPSERT = """
+            INSERT INTO scrape_checkpoint (job, date, track, lap, product, content_hash)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (job, date, track, lap, product) DO UPDATE SET
+                content_hash = EXCLUDED.content_hash,
+                completed_at = now()
+            """;
+
+    public record Key(String job, LocalDate date, String track, int lap, String product) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScraperProperties props;
+
+    /**
+     * Laps of one track and product a resumed run may skip; always empty without {@code scraper.resume}.
+     */
+    public Set<Integer> doneLaps(String job, LocalDate date, String track, String product) {
+        Set<Integer> laps = new HashSet<>();
+        if (!props.isResume()) return laps;
+
+        OffsetDateTime since = OffsetDateTime.now().minusHours(props.getResumeMaxAgeHours());
+        jdbcTemplate.query(SELECT_LAPS, rs -> {
+            laps.add(rs.getInt("lap"));
+        }, job, date, track, product, since);
+        return laps;
+    }
+
+    public void complete(Key key, long contentHash) {
+        jdbcTemplate.update(UPSERT, ps -> {
+            ps.setString(1, key.job());
+            ps.setObject(2, key.date(), Types.DATE);
+            ps.setString(3, key.track());
+            ps.setInt(4, key.lap());
+            ps.setString(5, key.product());
+            ps.setLong(6, contentHash);
+        });
+    }
+
+    /**
+     * CRC32 of the rows' fields, independent of row order: tells whether a re-scraped lap came out the same.
+     */
+    public static <T> long hash(Collection<T> rows, Function<T, List<?>> fields) {
+        List<String> lines = rows.stream()
+                .map(row -> String.join("|", fields.apply(row).stream().map(String::valueOf).toList()))
+                .sorted()
+                .toList();
+        CRC32 crc = new CRC32();
+        crc.update(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.ScrapedHorse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched upsert of {@code scraped_horse} rows on their key (date, track, lap, number_of_horse). The key is
+ * assigned, so {@code saveAll} would merge and SELECT every horse first; here a lap is one batch, new or not.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScrapedHorseWriter {
+
+    static final String UPSERT = """
+            INSERT INTO scraped_horse (date, track, lap, number_of_horse, name_of_horse, placement, v_odds, p_odds,
+                                       trio_odds, tvilling_odds)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (date, track, lap, number_of_horse) DO UPDATE SET
+                name_of_horse = EXCLUDED.name_of_horse,
+                placement     = EXCLUDED.placement,
+                v_odds        = EXCLUDED.v_odds,
+                p_odds        = EXCLUDED.p_odds,
+                trio_odds     = EXCLUDED.trio_odds,
+                tvilling_odds = EXCLUDED.tvilling_odds
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the rows in one batch; returns the number of rows sent.
+     */
+    public int upsert(Collection<ScrapedHorse> rows) {
+        List<ScrapedHorse> batch = BatchRows.lastPerKey(rows, ScrapedHorseWriter::key);
+        if (batch.isEmpty()) return 0;
+
+        jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (ps, h) -> {
+            ps.setObject(1, h.getDate(), Types.DATE);
+            ps.setString(2, h.getTrack());
+            ps.setString(3, h.getLap());
+            ps.setString(4, h.getNumberOfHorse());
+            ps.setString(5, h.getNameOfHorse());
+            ps.setString(6, h.getPlacement());
+            ps.setString(7, h.getVOdds());
+            ps.setString(8, h.getPOdds());
+            ps.setString(9, h.getTrioOdds());
+            ps.setString(10, h.getTvillingOdds());
+        });
+        return batch.size();
+    }
+
+    /** (date, track, lap, number_of_horse), or null when one is missing. */
+    private static List<Object> key(ScrapedHorse h) {
+        if (h.getDate() == null || h.getTrack() == null || h.getLap() == null || h.getNumberOfHorse() == null) return null;
+        return List.of(h.getDate(), h.getTrack(), h.getLap(), h.getNumberOfHorse());
+    }
+}
@@ -2,8 +2,33 @@ package com.example.travscraper.repo;
 
 import com.example.travscraper.entity.Tid99Warning;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface Tid99WarningRepo extends JpaRepository<Tid99Warning, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Fills tid_99_warning with every placed result (placering not 15 or 99) that has tid 99, in one statement.
+     * Returns the number of rows inserted.
+     */
+    @Modifying
+    @Query(value = """
+                insert into tid_99_warning (id, datum, bankod, lopp, nr, namn, placering, tid)
+                select
+                    nextval('tid_99_warning_id_seq'),
+                    coalesce(r.datum, 0),
+                    coalesce(r.bankod, ''),
+                    coalesce(r.lopp, 0),
+                    coalesce(r.nr, 0),
+                    coalesce(r.namn, ''),
+                    r.placering,
+                    r.tid
+                from resultat r
+                where r.placering is not null
+                  and r.placering not in (15, 99)
+                  and r.tid = 99.0
+            """, nativeQuery = true)
+    int insertFromResults();
+}
@@ -0,0 +1,277 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind stage between the scrapers and Postgres. Scrapers {@link #submit} row batches and go back to
+ * the browser; one writer thread drains the queue and writes whatever has gathered, up to
+ * {@code scraper.write-behind-flush-rows} rows or {@code -flush-millis} of waiting, in one transaction.
+ * At most {@code scraper.write-behind-max-rows} rows may be queued: beyond that {@code submit} blocks until the
+ * writer catches up. Each batch is written under a savepoint of that transaction, so a bad row only rolls back
+ * its own batch. {@link #flush} waits for everything submitted so far; shutdown drains the queue.
+ * With {@code scraper.write-behind=false} every batch is written on the caller's thread in its own transaction.
+ */
+@Slf4j
+@Component
+public class WriteBehind {
+
+    private static final long IDLE_POLL_MS = 500;
+    private static final long SHUTDOWN_WAIT_MS = TimeUnit.MINUTES.toMillis(2);
+
+    private final ScrapedHorseWriter scrapedHorseWriter;
+    private final ResultHorseWriter resultHorseWriter;
+    private final FutureHorseWriter futureHorseWriter;
+    private final ResultKeyCache resultKeyCache;
+    private final ResultPartitions resultPartitions;
+    private final ScrapeCheckpoints checkpoints;
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+    private final int maxRows;
+    private final int flushRows;
+    private final long flushMillis;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Semaphore rowPermits;
+    private final Object progress = new Object();
+    private final AtomicLong submitted = new AtomicLong();
+    private long completed;
+    private volatile boolean stopping;
+    private final Thread writer;
+
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private long writtenRows;
+    private long failedBatches;
+    private long flushes;
+
+    public WriteBehind(ScrapedHorseWriter scrapedHorseWriter, ResultHorseWriter resultHorseWriter,
+                       FutureHorseWriter futureHorseWriter, ResultKeyCache resultKeyCache,
+                       ResultPartitions resultPartitions, ScrapeCheckpoints checkpoints,
+                       PlatformTransactionManager transactionManager, ScraperProperties props) {
+        this.scrapedHorseWriter = scrapedHorseWriter;
+        this.resultHorseWriter = resultHorseWriter;
+        this.futureHorseWriter = futureHorseWriter;
+        this.resultKeyCache = resultKeyCache;
+        this.resultPartitions = resultPartitions;
+        this.checkpoints = checkpoints;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = props.isWriteBehind();
+        this.maxRows = Math.max(1, props.getWriteBehindMaxRows());
+        this.flushRows = Math.max(1, props.getWriteBehindFlushRows());
+        this.flushMillis = Math.max(0, props.getWriteBehindFlushMillis());
+        this.rowPermits = new Semaphore(maxRows);
+
+        this.writer = new Thread(this::drain, "write-behind");
+        this.writer.setDaemon(true);
+        if (enabled) writer.start();
+    }
+
+    /**
+     * Queues the batch, blocking while the queue is full. Written immediately when write-behind is off.
+     * The batch's resultat rows are applied to ResultKeyCache right away, and dropped from it again if the
+     * write fails.
+     */
+    public void submit(PendingWrite batch) {
+        if (batch.rows() == 0) return;
+        resultKeyCache.record(batch);
+        if (!enabled || stopping) {
+            write(List.of(batch));
+            return;
+        }
+
+        int permits = permits(batch);
+        long start = System.nanoTime();
+        try {
+            rowPermits.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(batch));
+            return;
+        }
+        long waited = System.nanoTime() - start;
+        if (waited > TimeUnit.MILLISECONDS.toNanos(100)) {
+            blockedNanos.addAndGet(waited);
+            log.debug("💾 Write-behind full, waited {} ms for room for {} row(s)", waited / 1_000_000, batch.rows());
+        }
+
+        submitted.incrementAndGet();
+        queue.add(batch);
+    }
+
+    /**
+     * Waits until every batch submitted before this call is written (or has failed).
+     */
+    public void flush() {
+        if (!enabled) return;
+        long target = submitted.get();
+        synchronized (progress) {
+            while (completed < target && writer.isAlive()) {
+                try {
+                    progress.wait(IDLE_POLL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) return;
+        stopping = true;
+        try {
+            writer.join(SHUTDOWN_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("⚠️  Write-behind stopped with {} batch(es) unwritten", queue.size());
+        }
+        synchronized (progress) {
+            if (flushes > 0) {
+                log.info("💾 Write-behind: {} row(s) in {} transaction(s), {} failed batch(es), scrapers blocked {} ms",
+                        writtenRows, flushes, failedBatches, TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()));
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<PendingWrite> group = new ArrayList<>();
+            try {
+                PendingWrite first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (stopping) return;
+                    continue;
+                }
+                group.add(first);
+
+                int rows = first.rows();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+                while (rows < flushRows) {
+                    long left = deadline - System.nanoTime();
+                    PendingWrite next = stopping || left <= 0 ? queue.poll() : queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    group.add(next);
+                    rows += next.rows();
+                }
+            } catch (InterruptedException e) {
+                if (group.isEmpty()) return;
+            }
+
+            int failed = write(group);
+            int rows = 0;
+            int permits = 0;
+            for (PendingWrite batch : group) {
+                rows += batch.rows();
+                permits += permits(batch);
+            }
+            rowPermits.release(permits);
+            synchronized (progress) {
+                completed += group.size();
+                writtenRows += rows;
+                failedBatches += failed;
+                flushes++;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes the group in one transaction, each batch (one lap, with its checkpoint) under its own savepoint:
+     * a batch that fails is rolled back alone and the rest still commit. Returns the batches that failed.
+     */
+    private int write(List<PendingWrite> group) {
+        ensurePartitions(group);
+        int[] failed = {0};
+        try {
+            tx.executeWithoutResult(status -> {
+                for (PendingWrite batch : group) {
+                    Object savepoint = status.createSavepoint();
+                    try {
+                        apply(batch);
+                        status.releaseSavepoint(savepoint);
+                    } catch (DataAccessException e) {
+                        status.rollbackToSavepoint(savepoint);
+                        resultKeyCache.forget(batch);
+                        failed[0]++;
+                        log.warn("⚠️  Could not write {} row(s) ({}), rolled back to its savepoint: {}", batch.rows(),
+                                batch.getClass().getSimpleName(), rootMessage(e));
+                    }
+                }
+            });
+            return failed[0];
+        } catch (RuntimeException e) {
+            group.forEach(resultKeyCache::forget);
+            log.warn("⚠️  Write transaction with {} batch(es) failed, nothing from it was written: {}",
+                    group.size(), rootMessage(e));
+            return group.size();
+        }
+    }
+
+    /**
+     * Creates the resultat year partitions the group's inserts need, each in its own transaction, before the
+     * group's transaction is opened: a partition created under a batch savepoint could be rolled back with it.
+     * When that fails the rows still go in, to the default partition, and the years are tried again next time.
+     */
+    private void ensurePartitions(List<PendingWrite> group) {
+        List<Integer> datums = new ArrayList<>();
+        for (PendingWrite batch : group) collectInsertedDatums(batch, datums);
+        if (datums.isEmpty()) return;
+        try {
+            resultPartitions.ensureFor(datums);
+        } catch (DataAccessException e) {
+            log.warn("⚠️  Could not create resultat partitions, rows go to the default partition: {}", rootMessage(e));
+        }
+    }
+
+    private static void collectInsertedDatums(PendingWrite batch, List<Integer> datums) {
+        if (batch instanceof PendingWrite.PreviousStarts b) {
+            b.results().forEach(r -> datums.add(r.getDatum()));
+        } else if (batch instanceof PendingWrite.FutureLap b && b.createResultRows()) {
+            b.resultFields().forEach(r -> datums.add(r.getDatum()));
+        } else if (batch instanceof PendingWrite.Checkpointed b) {
+            collectInsertedDatums(b.write(), datums);
+        }
+    }
+
+    private void apply(PendingWrite batch) {
+        if (batch instanceof PendingWrite.ScrapedHorses b) {
+            scrapedHorseWriter.upsert(b.horses());
+        } else if (batch instanceof PendingWrite.PreviousStarts b) {
+            resultHorseWriter.upsertPreviousStarts(b.results());
+        } else if (batch instanceof PendingWrite.FutureLap b) {
+            futureHorseWriter.upsert(b.futureHorses());
+            resultHorseWriter.writeFutureFields(b.resultFields(), b.createResultRows());
+        } else if (batch instanceof PendingWrite.Checkpointed b) {
+            apply(b.write());
+            checkpoints.complete(b.key(), b.contentHash());
+        }
+    }
+
+    /** A batch bigger than the whole queue takes all of it, so it still fits. */
+    private int permits(PendingWrite batch) {
+        return Math.min(batch.rows(), maxRows);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        return root.getMessage();
+    }
+}
@@ -1,15 +1,16 @@
 package com.example.travscraper.service;
 
-import com.example.travscraper.entity.DoubleGangers;
-import com.example.travscraper.repo.DoubleGangerCandidate;
+import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.entity.RefreshWatermark;
 import com.example.travscraper.repo.DoubleGangerRepo;
+import com.example.travscraper.repo.RefreshWatermarkRepo;
 import com.example.travscraper.repo.ResultHorseRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
@@ -17,50 +18,63 @@ import java.util.List;
 @Slf4j
 public class DoubleGangerService {
 
-    private static final int BATCH_SIZE = 500;
-    private final ResultHorseRepo resultHorseRepo;
+    private static final String WATERMARK = "double_gangers";
+
     private final DoubleGangerRepo doubleGangerRepo;
+    private final ResultHorseRepo resultHorseRepo;
+    private final RefreshWatermarkRepo refreshWatermarkRepo;
+    private final ScraperProperties props;
 
+    /**
+     * Brings double_gangers in line with resultat. Incrementally (the default) only the dates with result rows
+     * after the watermark's datum or written after its updated_at are recomputed; without a watermark, or with
+     * {@code scraper.double-ganger-refresh=full}, the table is rebuilt. The saved updated_at trails the newest stamp
+     * by {@code scraper.double-ganger-watermark-margin-seconds}: a row is stamped when written but only seen once its
+     * transaction commits, so a WriteBehind flush committing after this refresh read the marks is caught next time.
+     */
     @Transactional
     public void refreshDoubleGangers() {
-        log.info("DoubleGanger: starting refresh");
+        long start = System.currentTimeMillis();
 
-        List<DoubleGangerCandidate> candidates = resultHorseRepo.findDoubleGangerCandidates();
-        log.info("DoubleGanger: found {} horse/date/track pairs", candidates.size());
+        // Read the marks first. Rows stamped within the margin before maxUpdatedAt are read again next time,
+        // which covers transactions that were still open when the marks were read.
+        Integer maxDatum = resultHorseRepo.findMaxDatum();
+        OffsetDateTime maxUpdatedAt = resultHorseRepo.findMaxUpdatedAt();
+        RefreshWatermark watermark = refreshWatermarkRepo.findById(WATERMARK).orElse(null);
 
-        log.info("DoubleGanger: deleting old rows from double_gangers...");
-        doubleGangerRepo.deleteAllInBatch();
-        log.info("DoubleGanger: delete done");
+        if (!props.isIncrementalDoubleGangers() || watermark == null || watermark.getLastUpdatedAt() == null) {
+            rebuild();
+        } else {
+            List<Integer> dates = resultHorseRepo.findDatesChangedSince(watermark.getLastDatum(),
+                    watermark.getLastUpdatedAt());
+            log.info("DoubleGanger: incremental refresh, {} date(s) changed since datum {} / {}",
+                    dates.size(), watermark.getLastDatum(), watermark.getLastUpdatedAt());
 
-        if (candidates.isEmpty()) {
-            log.info("DoubleGanger: nothing to save, finished");
-            return;
+            if (!dates.isEmpty()) {
+                int deleted = doubleGangerRepo.deleteStaleForDates(dates);
+                int inserted = doubleGangerRepo.insertMissingForDates(dates);
+                log.info("DoubleGanger XD: deleted {} and inserted {} rows for {}", deleted, inserted, dates);
+            }
         }
 
-        List<DoubleGangers> buffer = new ArrayList<>(Math.min(BATCH_SIZE, candidates.size()));
-        int saved = 0;
+        refreshWatermarkRepo.save(RefreshWatermark.builder()
+                .name(WATERMARK)
+                .lastDatum(maxDatum == null ? 0 : maxDatum)
+                .lastUpdatedAt(maxUpdatedAt == null ? null
+                        : maxUpdatedAt.minusSeconds(props.getDoubleGangerWatermarkMarginSeconds()))
+                .build());
 
-        for (DoubleGangerCandidate candidate : candidates) {
-            buffer.add(DoubleGangers.builder()
-                    .date(candidate.getDatum() == null ? 0 : candidate.getDatum())
-                    .track1(candidate.getTrack1())
-                    .track2(candidate.getTrack2())
-                    .horseName(candidate.getHorseName())
-                    .build());
+        log.info("DoubleGanger XD: finished in {} ms", System.currentTimeMillis() - start);
+    }
 
-            if (buffer.size() >= BATCH_SIZE) {
-                doubleGangerRepo.saveAll(buffer);
-                saved += buffer.size();
-                log.info("DoubleGanger XD: saved {} / {}", saved, candidates.size());
-                buffer.clear();
-            }
-        }
+    private void rebuild() {
+        log.info("DoubleGanger: full rebuild");
 
-        if (!buffer.isEmpty()) {
-            doubleGangerRepo.saveAll(buffer);
-            saved += buffer.size();
-        }
+        log.info("DoubleGanger: deleting old rows from double_gangers...");
+        doubleGangerRepo.deleteAllInBatch();
+        log.info("DoubleGanger: delete done");
 
-        log.info("DoubleGanger XD: finished, saved {} rows to double_gangers", saved);
+        int saved = doubleGangerRepo.insertFromResults();
+        log.info("DoubleGanger XD: saved {} rows to double_gangers", saved);
     }
 }
@@ -1,66 +1,54 @@
 package com.example.travscraper.service;
 
-import com.example.travscraper.entity.HorseWarning;
-import com.example.travscraper.repo.HorseStartSummary;
+import com.example.travscraper.repo.HorseStartCounterRepo;
 import com.example.travscraper.repo.HorseWarningRepo;
-import com.example.travscraper.repo.ResultHorseRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HorseWarningService {
 
-    private static final int BATCH_SIZE = 500;
-
-    private final ResultHorseRepo resultHorseRepo;
     private final HorseWarningRepo horseWarningRepo;
+    private final HorseStartCounterRepo horseStartCounterRepo;
 
+    /**
+     * Rebuilds kontroll inside the database from horse_start_counter, which ResultHorseWriter keeps current, so
+     * the refresh reads only the horses under {@code minStarts} instead of aggregating all of resultat.
+     */
     @Transactional
     public void refreshWarnings(int minStarts) {
         log.info("HorseWarning: starting refresh (minStarts={})", minStarts);
-
-        List<HorseStartSummary> bad = resultHorseRepo.findHorsesWithStartsLessThan(minStarts);
-        log.info("HorseWarning: found {} horses with starts < {}", bad.size(), minStarts);
+        long start = System.currentTimeMillis();
 
         log.info(" HorseWarning: deleting old rows from kontroll...");
         horseWarningRepo.deleteAllInBatch();
         log.info("HorseWarning: delete done");
 
-        if (bad.isEmpty()) {
-            log.info("HorseWarning: nothing to save, finished");
-            return;
-        }
+        int saved = horseWarningRepo.insertFromStartCounters(minStarts);
 
-        List<HorseWarning> buffer = new ArrayList<>(Math.min(BATCH_SIZE, bad.size()));
-        int saved = 0;
-
-        for (HorseStartSummary s : bad) {
-            buffer.add(HorseWarning.builder()
-                    .date(s.getLastDate() == null ? 0 : s.getLastDate())
-                    .name(s.getName())
-                    .starts(Math.toIntExact(s.getStarts()))
-                    .build());
+        log.info("HorseWarning: finished, saved {} rows to kontroll in {} ms", saved,
+                System.currentTimeMillis() - start);
+    }
 
-            if (buffer.size() >= BATCH_SIZE) {
-                horseWarningRepo.saveAll(buffer);
-                saved += buffer.size();
-                log.info("HorseWarning: saved {} / {}", saved, bad.size());
-                buffer.clear();
-            }
-        }
+    /**
+     * Recounts horse_start_counter from resultat. ResultHorseWriter only counts new rows, so deleted or renamed
+     * results leave the counters off; this is the periodic reconciliation
+     * ({@code --scraper.job=horse-start-counter-reconcile}). kontroll picks the counts up at its next refresh.
+     */
+    @Transactional
+    public void reconcileStartCounters() {
+        log.info("HorseStartCounter: starting reconcile");
+        long start = System.currentTimeMillis();
 
-        if (!buffer.isEmpty()) {
-            horseWarningRepo.saveAll(buffer);
-            saved += buffer.size();
-        }
+        horseStartCounterRepo.lockAgainstWriters();
+        int changed = horseStartCounterRepo.upsertFromResults();
+        int deleted = horseStartCounterRepo.deleteWithoutResults();
 
-        log.info("HorseWarning: finished, saved {} rows to kontroll", saved);
+        log.info("HorseStartCounter: finished, {} counters inserted or corrected, {} removed in {} ms", changed,
+                deleted, System.currentTimeMillis() - start);
     }
 }
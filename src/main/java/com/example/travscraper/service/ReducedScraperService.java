@@ -1,11 +1,21 @@
 package com.example.travscraper.service;
 
 import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.atg.AtgApiClient;
+import com.example.travscraper.atg.AtgGameJson;
+import com.example.travscraper.atg.AtgRace;
+import com.example.travscraper.atg.AtgStart;
+import com.example.travscraper.browser.BrowserLease;
+import com.example.travscraper.browser.BrowserPool;
+import com.example.travscraper.browser.HostThrottle;
+import com.example.travscraper.browser.ResponseCapture;
+import com.example.travscraper.browser.WarmTab;
+import com.example.travscraper.browser.WarmTabs;
 import com.example.travscraper.entity.ReducedSystem;
 import com.example.travscraper.repo.ReducedSystemRepo;
+import com.example.travscraper.repo.ScrapeCheckpoints;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitUntilState;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
@@ -45,8 +55,10 @@ public class ReducedScraperService {
             GAME_TYPE_V5, GAME_TYPE_V4, GAME_TYPE_V3
     );
     private static final int MAX_DEPARTMENTS = 15;
+    private static final String CHECKPOINT_JOB = "reduced";
     private static final int CALENDAR_READY_TIMEOUT_MS = 10_000;
     private static final int DEPARTMENT_READY_TIMEOUT_MS = 20_000;
+    private static final int JSON_CAPTURE_TIMEOUT_MS = 15_000;
     private static final Pattern STRECK_VALUE = Pattern.compile("(<)?\\s*(\\d{1,3})(?:[\\.,](\\d{1,2}))?\\s*%?");
     private static final String SEL_COOKIE_BUTTONS =
             "button:has-text(\"Tillåt alla\"):visible, " +
@@ -60,12 +72,14 @@ public class ReducedScraperService {
 
     private final ScraperProperties props;
     private final ReducedSystemRepo reducedSystemRepo;
+    private final ScrapeCheckpoints checkpoints;
+    private final BrowserPool browserPool;
+    private final HostThrottle hostThrottle;
+    private final WarmTabs warmTabs;
+    private final AtgGameJson atgGameJson;
+    private final AtgApiClient atgApiClient;
     private final ReentrantLock lock = new ReentrantLock();
 
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext ctx;
-
     public void scrapeAllReducedGames() {
         scrapeGames(DEFAULT_GAME_TYPES);
     }
@@ -111,6 +125,7 @@ public class ReducedScraperService {
             log.warn("Previous reduced-system scrape still running - skipping");
             return;
         }
+        BrowserLease lease = null;
         try {
             LocalDate end = Optional.ofNullable(props.getEndDateReducedSystem())
                     .orElse(LocalDate.now(STOCKHOLM));
@@ -125,24 +140,87 @@ public class ReducedScraperService {
 
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("ReducedSystem: scanning {} for {}", date, gameTypesUrl);
-                List<GameTarget> targets = findGameTargetsOnCalendar(date, gameTypesUrl);
+                HttpGames http = scrapeGamesOverHttp(date, gameTypesUrl);
+                if (http.complete()) continue;
+
+                if (lease == null) lease = browserPool.acquire();
+                List<GameTarget> targets = findGameTargetsOnCalendar(lease.context(), date, gameTypesUrl);
                 for (GameTarget target : targets) {
-                    scrapeGameTarget(target);
+                    if (http.doneKeys().contains(targetKey(target))) continue;
+                    scrapeGameTarget(lease.context(), target);
                 }
             }
         } finally {
+            if (lease != null) lease.close();
             lock.unlock();
         }
     }
 
-    private List<GameTarget> findGameTargetsOnCalendar(LocalDate date, Collection<String> gameTypesUrl) {
-        ensureBrowser();
+    /**
+     * Persists the bet distribution of every game of the given types on {@code date} over plain HTTP when
+     * {@code scraper.fetch-mode=http}. {@code complete} means every game on the day was persisted and the
+     * browser can skip the date; otherwise {@code doneKeys} lists the targets that need no browser visit.
+     */
+    private HttpGames scrapeGamesOverHttp(LocalDate date, List<String> gameTypesUrl) {
+        if (!atgApiClient.isEnabled()) return new HttpGames(false, Set.of());
+
+        Map<String, List<AtgRace>> legsByGameId = atgApiClient.fetchGames(date, gameTypesUrl);
+        if (legsByGameId == null) return new HttpGames(false, Set.of());
+
+        Set<String> doneKeys = new HashSet<>();
+        boolean complete = true;
+        for (Map.Entry<String, List<AtgRace>> game : legsByGameId.entrySet()) {
+            String gameTypeUrl = game.getKey().split("_", 2)[0].toUpperCase(Locale.ROOT);
+            List<AtgRace> legs = game.getValue();
+
+            Set<String> trackNames = new LinkedHashSet<>();
+            legs.forEach(leg -> trackNames.add(leg.trackName()));
+
+            for (String trackName : trackNames) {
+                String bankod = toKnownBankodOrNull(trackName);
+                if (bankod == null) {
+                    log.warn("ReducedSystem: unknown track '{}' for {} on {} (HTTP), skipping", trackName, gameTypeUrl, date);
+                    continue;
+                }
+
+                GameTarget target = new GameTarget(date, gameTypeUrl, gameTypeUrl.toLowerCase(Locale.ROOT),
+                        trackKey(trackName).replace(' ', '-'), bankod);
+                // A game may span tracks: only this track's legs, each under its position (avd) in the game.
+                boolean allLegs = true;
+                Set<Integer> doneDepartments = doneDepartments(target);
+                for (int avd = 1; avd <= legs.size(); avd++) {
+                    if (!trackName.equals(legs.get(avd - 1).trackName())) continue;
+                    if (doneDepartments.contains(avd)) continue;
+                    Map<Integer, BigDecimal> streckByNr = streckByNr(legs.get(avd - 1));
+                    if (streckByNr == null) {
+                        allLegs = false;
+                        continue;
+                    }
+                    logSaved(persistDepartment(streckByNr, target, avd), target, avd);
+                }
+
+                if (allLegs) doneKeys.add(targetKey(target));
+            }
+
+            complete &= !legs.isEmpty() && trackNames.stream()
+                    .allMatch(name -> doneKeys.contains(gameTypeUrl + "|" + trackKey(name)));
+        }
 
+        log.info("ReducedSystem: {} target(s) persisted over HTTP on {}{}", doneKeys.size(), date,
+                complete ? "" : ", rest via browser");
+        return new HttpGames(complete, doneKeys);
+    }
+
+    private static String targetKey(GameTarget target) {
+        return target.gameTypeUrl().toUpperCase(Locale.ROOT) + "|" + trackKey(target.trackSlug());
+    }
+
+    private List<GameTarget> findGameTargetsOnCalendar(BrowserContext ctx, LocalDate date, Collection<String> gameTypesUrl) {
         String dateSlug = date.format(URL_DATE_FORMAT);
         String url = "https://www.atg.se/spel/kalender/" + dateSlug;
 
         try (Page page = ctx.newPage()) {
-            page.navigate(url, navOptions());
+            hostThrottle.navigate(page, url, navOptions());
             dismissCookiesIfPresent(page);
             waitForCalendarReady(page);
 
@@ -211,22 +289,43 @@ public class ReducedScraperService {
         return new ArrayList<>(targetsByTrack.values());
     }
 
-    private void scrapeGameTarget(GameTarget target) {
+    private void scrapeGameTarget(BrowserContext ctx, GameTarget target) {
         int misses = 0;
         boolean scrapedAny = false;
         int maxDepartments = departmentsFor(target.gameTypeUrl());
+        Set<Integer> doneDepartments = doneDepartments(target);
+        if (doneDepartments.size() >= maxDepartments) {
+            log.info("ReducedSystem: {} {} {} already done in an earlier run, skipping",
+                    target.date(), target.gameTypeUrl(), target.trackSlug());
+            return;
+        }
 
-        for (int avd = 1; avd <= maxDepartments; avd++) {
-            boolean scraped = scrapeDepartment(target, avd);
-            if (scraped) {
-                scrapedAny = true;
-                misses = 0;
-            } else if (scrapedAny || ++misses >= 2) {
-                break;
+        try (WarmTab tab = warmTabs.newTab(ctx)) {
+            for (int avd = 1; avd <= maxDepartments; avd++) {
+                if (doneDepartments.contains(avd)) {
+                    scrapedAny = true;
+                    misses = 0;
+                    continue;
+                }
+                boolean scraped = scrapeDepartment(tab, target, avd);
+                if (!scraped && tab.fallBackIfInApp()) {
+                    scraped = scrapeDepartment(tab, target, avd);
+                }
+                if (scraped) {
+                    scrapedAny = true;
+                    misses = 0;
+                } else if (scrapedAny || ++misses >= 2) {
+                    break;
+                }
             }
         }
     }
 
+    /** Departments an earlier run checkpointed; empty unless resuming. */
+    private Set<Integer> doneDepartments(GameTarget target) {
+        return checkpoints.doneLaps(CHECKPOINT_JOB, target.date(), target.bankod(), target.streckTyp());
+    }
+
     private int departmentsFor(String gameTypeUrl) {
         String gameType = gameTypeUrl == null ? "" : gameTypeUrl.toUpperCase(Locale.ROOT);
         return switch (gameType) {
@@ -240,14 +339,12 @@ public class ReducedScraperService {
         };
     }
 
-    private boolean scrapeDepartment(GameTarget target, int avd) {
-        ensureBrowser();
-
+    private boolean scrapeDepartment(WarmTab tab, GameTarget target, int avd) {
         String url = String.format("https://www.atg.se/spel/%s/%s/%s/avd/%d",
                 target.date().format(URL_DATE_FORMAT), target.gameTypeUrl(), target.trackSlug(), avd);
 
-        try (Page page = ctx.newPage()) {
-            page.navigate(url, navOptions());
+        try {
+            Page page = tab.navigate(url, navOptions());
 
             if (page.url().contains("/spel/kalender/")) {
                 log.info("ReducedSystem: {} {} {} avd {} redirected to calendar, stopping/continuing misses",
@@ -262,25 +359,24 @@ public class ReducedScraperService {
                 return false;
             }
 
+            Map<Integer, BigDecimal> captured = capturedStreck(tab, target, avd);
+            if (captured != null) {
+                tab.ready();
+                return logSaved(persistDepartment(captured, target, avd), target, avd);
+            }
+
             ElementHandle first = page.waitForSelector(
-                    SEL_COOKIE_BUTTONS + ", tr[data-test-id^=horse-row]",
+                    SEL_COOKIE_BUTTONS + ", " + WarmTab.FRESH_HORSE_ROWS,
                     new Page.WaitForSelectorOptions().setTimeout(DEPARTMENT_READY_TIMEOUT_MS));
 
             if (first != null && "BUTTON".equalsIgnoreCase(String.valueOf(first.evaluate("e => e.tagName")))) {
                 first.click();
-                page.waitForSelector("tr[data-test-id^=horse-row]",
+                page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
                         new Page.WaitForSelectorOptions().setTimeout(DEPARTMENT_READY_TIMEOUT_MS));
             }
+            tab.ready();
 
-            int saved = parseAndPersistDepartment(page.content(), target, avd);
-            if (saved <= 0) {
-                log.info("ReducedSystem: no rows saved for {} {} {} avd {}", target.date(), target.gameTypeUrl(), target.trackSlug(), avd);
-                return false;
-            }
-
-            log.info("ReducedSystem: saved/updated {} rows for {} {} {} avd {}",
-                    saved, target.date(), target.gameTypeUrl(), target.trackSlug(), avd);
-            return true;
+            return logSaved(parseAndPersistDepartment(page.content(), target, avd), target, avd);
         } catch (PlaywrightException e) {
             String message = e.getMessage();
             if (message != null && message.contains("Timeout")) {
@@ -292,11 +388,61 @@ public class ReducedScraperService {
         }
     }
 
+    private boolean logSaved(int saved, GameTarget target, int avd) {
+        if (saved <= 0) {
+            log.info("ReducedSystem: no rows saved for {} {} {} avd {}", target.date(), target.gameTypeUrl(), target.trackSlug(), avd);
+            return false;
+        }
+
+        log.info("ReducedSystem: saved/updated {} rows for {} {} {} avd {}",
+                saved, target.date(), target.gameTypeUrl(), target.trackSlug(), avd);
+        return true;
+    }
+
+    /**
+     * Start number to bet distribution for the department, read from the captured game JSON. Null when JSON
+     * capture is off or the game payload did not arrive or lacks the distribution; the DOM is read instead.
+     */
+    private Map<Integer, BigDecimal> capturedStreck(WarmTab tab, GameTarget target, int avd) {
+        ResponseCapture responses = tab.responses();
+        if (responses == null) return null;
+
+        String gameIdPrefix = "/games/" + target.gameTypeUrl().toUpperCase(Locale.ROOT) + "_"
+                + target.date().format(URL_DATE_FORMAT);
+        return responses.await(url -> url.toUpperCase(Locale.ROOT).contains(gameIdPrefix.toUpperCase(Locale.ROOT)),
+                body -> {
+                    List<AtgRace> legs = atgGameJson.races(body, target.gameTypeUrl());
+                    return legs.size() < avd ? null : streckByNr(legs.get(avd - 1));
+                }, JSON_CAPTURE_TIMEOUT_MS);
+    }
+
+    private static Map<Integer, BigDecimal> streckByNr(AtgRace leg) {
+        Map<Integer, BigDecimal> streckByNr = new LinkedHashMap<>();
+        for (AtgStart start : leg.starts()) {
+            if (start.betDistribution() == null || !start.number().matches("\\d{1,2}")) continue;
+            streckByNr.put(Integer.parseInt(start.number()), start.betDistribution());
+        }
+        return streckByNr.isEmpty() ? null : streckByNr;
+    }
+
     private int parseAndPersistDepartment(String html, GameTarget target, int avd) {
         Document doc = Jsoup.parse(html);
         List<Element> rows = doc.select("tr[data-test-id^=horse-row]");
         if (rows.isEmpty()) return 0;
 
+        Map<Integer, BigDecimal> streckByNr = new LinkedHashMap<>();
+        for (Element row : rows) {
+            Integer nr = extractStartNumber(row);
+            BigDecimal streck = extractStreck(row);
+            if (nr == null || streck == null) continue;
+            streckByNr.putIfAbsent(nr, streck);
+        }
+        return persistDepartment(streckByNr, target, avd);
+    }
+
+    private int persistDepartment(Map<Integer, BigDecimal> streckByNr, GameTarget target, int avd) {
+        if (streckByNr.isEmpty()) return 0;
+
         String startDatum = target.date().format(URL_DATE_FORMAT);
         Map<Integer, ReducedSystem> existingByNr = new HashMap<>();
         for (ReducedSystem existing : reducedSystemRepo.findByStartDatumAndBanKodAndStreckTypAndLopp(
@@ -305,10 +451,9 @@ public class ReducedScraperService {
         }
 
         List<ReducedSystem> toSave = new ArrayList<>();
-        for (Element row : rows) {
-            Integer nr = extractStartNumber(row);
-            BigDecimal streck = extractStreck(row);
-            if (nr == null || streck == null) continue;
+        for (Map.Entry<Integer, BigDecimal> entry : streckByNr.entrySet()) {
+            Integer nr = entry.getKey();
+            BigDecimal streck = entry.getValue();
 
             ReducedSystem reduced = existingByNr.get(nr);
             if (reduced == null) {
@@ -332,6 +477,8 @@ public class ReducedScraperService {
 
         if (toSave.isEmpty()) return 0;
         reducedSystemRepo.saveAll(toSave);
+        checkpoints.complete(new ScrapeCheckpoints.Key(CHECKPOINT_JOB, target.date(), target.bankod(), avd,
+                target.streckTyp()), ScrapeCheckpoints.hash(toSave, r -> Arrays.asList(r.getNr(), r.getStreck())));
         return toSave.size();
     }
 
@@ -394,63 +541,6 @@ public class ReducedScraperService {
                 .setTimeout(75_000);
     }
 
-    private void ensureBrowser() {
-        if (playwright != null && browser != null && ctx != null) return;
-
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(true)
-                        .setArgs(List.of("--disable-blink-features=AutomationControlled"))
-        );
-
-        ctx = browser.newContext(
-                new Browser.NewContextOptions()
-                        .setLocale("sv-SE")
-                        .setTimezoneId("Europe/Stockholm")
-                        .setGeolocation(59.33, 18.06)
-                        .setPermissions(List.of("geolocation"))
-                        .setViewportSize(1600, 900)
-                        .setUserAgent(
-                                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                                        "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                                        "Chrome/125.0.0.0 Safari/537.36")
-        );
-
-        ctx.route("**/*", route -> {
-            String resourceType = route.request().resourceType();
-            if ("image".equals(resourceType) || "media".equals(resourceType) || "font".equals(resourceType)) {
-                route.abort();
-            } else {
-                route.resume();
-            }
-        });
-
-        ctx.addInitScript("""
-                () => {
-                  const tryClick = () => {
-                    const patterns = [
-                      /Jag\\s*f(ö|o)rst(å|a)r/i,
-                      /Godk(ä|a)nn\\s+alla\\s+cookies/i,
-                      /Endast\\s+n(ö|o)dv(ä|a)ndiga/i,
-                      /Tillåt\\s+alla/i,
-                      /Avvisa/i
-                    ];
-                    try {
-                      const btn = [...document.querySelectorAll('button')]
-                        .find(b => patterns.some(rx => rx.test(b.textContent)));
-                      if (btn) btn.click();
-                    } catch (_) {}
-                  };
-                  tryClick();
-                  setTimeout(tryClick, 400);
-                  setTimeout(tryClick, 4000);
-                }
-                """);
-
-        log.info("ReducedSystem: headless browser launched");
-    }
-
     private void dismissCookiesIfPresent(Page page) {
         try {
             Locator cookie = page.locator(SEL_COOKIE_BUTTONS);
@@ -461,13 +551,6 @@ public class ReducedScraperService {
         }
     }
 
-    @PreDestroy
-    void closeBrowser() {
-        if (ctx != null) ctx.close();
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
-
     private static String normalizeCellText(String s) {
         if (s == null) return "";
         return s.replace('\u00A0', ' ').replaceAll("\\s+", " ").trim();
@@ -495,6 +578,9 @@ public class ReducedScraperService {
     private record GameTarget(LocalDate date, String gameTypeUrl, String streckTyp, String trackSlug, String bankod) {
     }
 
+    private record HttpGames(boolean complete, Set<String> doneKeys) {
+    }
+
     private record GameRoute(LocalDate date, String gameTypeUrl, String trackSlug, int avd) {
         boolean matches(GameTarget target, int expectedAvd) {
             return date.equals(target.date())
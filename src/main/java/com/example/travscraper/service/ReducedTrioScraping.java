@@ -1,11 +1,16 @@
 package com.example.travscraper.service;
 
 import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.browser.BrowserLease;
+import com.example.travscraper.browser.BrowserPool;
+import com.example.travscraper.browser.HostThrottle;
+import com.example.travscraper.browser.WarmTab;
+import com.example.travscraper.browser.WarmTabs;
 import com.example.travscraper.entity.ReducedSystem;
 import com.example.travscraper.repo.ReducedSystemRepo;
+import com.example.travscraper.repo.ScrapeCheckpoints;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitUntilState;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
@@ -34,6 +39,7 @@ public class ReducedTrioScraping {
     private static final DateTimeFormatter URL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final String STRECK_TYP_TRIO = "trio";
     private static final int MAX_LOPP = 15;
+    private static final String CHECKPOINT_JOB = "reduced";
     private static final int CALENDAR_READY_TIMEOUT_MS = 10_000;
     private static final int TRIO_READY_TIMEOUT_MS = 20_000;
     private static final Pattern TRIO_VALUE = Pattern.compile("(<)?\\s*(\\d{1,4})(?:[\\.,](\\d{1,2}))?\\s*%?");
@@ -53,18 +59,18 @@ public class ReducedTrioScraping {
 
     private final ScraperProperties props;
     private final ReducedSystemRepo reducedSystemRepo;
+    private final ScrapeCheckpoints checkpoints;
+    private final BrowserPool browserPool;
+    private final HostThrottle hostThrottle;
+    private final WarmTabs warmTabs;
     private final ReentrantLock lock = new ReentrantLock();
 
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext ctx;
-
     public void scrapeTrio() {
         if (!lock.tryLock()) {
             log.warn("Previous reduced trio scrape still running - skipping");
             return;
         }
-        try {
+        try (BrowserLease lease = browserPool.acquire()) {
             LocalDate end = Optional.ofNullable(props.getEndDateReducedSystem())
                     .orElse(LocalDate.now(STOCKHOLM));
             LocalDate start = Optional.ofNullable(props.getStartDateReducedSystem())
@@ -72,14 +78,14 @@ public class ReducedTrioScraping {
 
             for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
                 log.info("ReducedSystem Trio: scanning calendar {}", date);
-                List<TrioTarget> targets = findCalendarTracks(date);
+                List<TrioTarget> targets = findCalendarTracks(lease.context(), date);
                 if (targets.isEmpty()) {
                     log.info("ReducedSystem Trio: no allowed tracks found on {}", date);
                     continue;
                 }
 
                 for (TrioTarget target : targets) {
-                    scrapeTrack(target);
+                    scrapeTrack(lease.context(), target);
                 }
             }
         } finally {
@@ -87,14 +93,12 @@ public class ReducedTrioScraping {
         }
     }
 
-    private List<TrioTarget> findCalendarTracks(LocalDate date) {
-        ensureBrowser();
-
+    private List<TrioTarget> findCalendarTracks(BrowserContext ctx, LocalDate date) {
         String dateSlug = date.format(URL_DATE_FORMAT);
         String url = "https://www.atg.se/spel/kalender/" + dateSlug;
 
         try (Page page = ctx.newPage()) {
-            page.navigate(url, navOptions());
+            hostThrottle.navigate(page, url, navOptions());
             dismissCookiesIfPresent(page);
             waitForCalendarReady(page);
 
@@ -137,26 +141,34 @@ public class ReducedTrioScraping {
         return toKnownBankodOrNull(trackName.text());
     }
 
-    private void scrapeTrack(TrioTarget target) {
+    private void scrapeTrack(BrowserContext ctx, TrioTarget target) {
         int misses = 0;
-        for (int lopp = 1; lopp <= MAX_LOPP; lopp++) {
-            boolean scraped = scrapeLopp(target, lopp);
-            if (scraped) {
-                misses = 0;
-            } else if (++misses >= 2) {
-                break;
+        Set<Integer> doneLopp = checkpoints.doneLaps(CHECKPOINT_JOB, target.date(), target.bankod(), STRECK_TYP_TRIO);
+        try (WarmTab tab = warmTabs.newTab(ctx)) {
+            for (int lopp = 1; lopp <= MAX_LOPP; lopp++) {
+                if (doneLopp.contains(lopp)) {
+                    misses = 0;
+                    continue;
+                }
+                boolean scraped = scrapeLopp(tab, target, lopp);
+                if (!scraped && tab.fallBackIfInApp()) {
+                    scraped = scrapeLopp(tab, target, lopp);
+                }
+                if (scraped) {
+                    misses = 0;
+                } else if (++misses >= 2) {
+                    break;
+                }
             }
         }
     }
 
-    private boolean scrapeLopp(TrioTarget target, int lopp) {
-        ensureBrowser();
-
+    private boolean scrapeLopp(WarmTab tab, TrioTarget target, int lopp) {
         String url = String.format("https://www.atg.se/spel/%s/trio/%s/lopp/%d",
                 target.date().format(URL_DATE_FORMAT), target.trackSlug(), lopp);
 
-        try (Page page = ctx.newPage()) {
-            page.navigate(url, navOptions());
+        try {
+            Page page = tab.navigate(url, navOptions());
 
             if (page.url().contains("/spel/kalender/")) {
                 log.info("ReducedSystem Trio: {} {} lopp {} redirected to calendar", target.date(), target.trackSlug(), lopp);
@@ -171,14 +183,15 @@ public class ReducedTrioScraping {
             }
 
             ElementHandle first = page.waitForSelector(
-                    SEL_COOKIE_BUTTONS + ", tr[data-test-id^=horse-row]",
+                    SEL_COOKIE_BUTTONS + ", " + WarmTab.FRESH_HORSE_ROWS,
                     new Page.WaitForSelectorOptions().setTimeout(TRIO_READY_TIMEOUT_MS));
 
             if (first != null && "BUTTON".equalsIgnoreCase(String.valueOf(first.evaluate("e => e.tagName")))) {
                 first.click();
-                page.waitForSelector("tr[data-test-id^=horse-row]",
+                page.waitForSelector(WarmTab.FRESH_HORSE_ROWS,
                         new Page.WaitForSelectorOptions().setTimeout(TRIO_READY_TIMEOUT_MS));
             }
+            tab.ready();
 
             int saved = parseAndPersistLopp(page.content(), target, lopp);
             if (saved <= 0) {
@@ -240,6 +253,8 @@ public class ReducedTrioScraping {
 
         if (toSave.isEmpty()) return 0;
         reducedSystemRepo.saveAll(toSave);
+        checkpoints.complete(new ScrapeCheckpoints.Key(CHECKPOINT_JOB, target.date(), target.bankod(), lopp,
+                STRECK_TYP_TRIO), ScrapeCheckpoints.hash(toSave, r -> Arrays.asList(r.getNr(), r.getStreck())));
         return toSave.size();
     }
 
@@ -304,63 +319,6 @@ public class ReducedTrioScraping {
                 .setTimeout(75_000);
     }
 
-    private void ensureBrowser() {
-        if (playwright != null && browser != null && ctx != null) return;
-
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(true)
-                        .setArgs(List.of("--disable-blink-features=AutomationControlled"))
-        );
-
-        ctx = browser.newContext(
-                new Browser.NewContextOptions()
-                        .setLocale("sv-SE")
-                        .setTimezoneId("Europe/Stockholm")
-                        .setGeolocation(59.33, 18.06)
-                        .setPermissions(List.of("geolocation"))
-                        .setViewportSize(1600, 900)
-                        .setUserAgent(
-                                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                                        "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                                        "Chrome/125.0.0.0 Safari/537.36")
-        );
-
-        ctx.route("**/*", route -> {
-            String resourceType = route.request().resourceType();
-            if ("image".equals(resourceType) || "media".equals(resourceType) || "font".equals(resourceType)) {
-                route.abort();
-            } else {
-                route.resume();
-            }
-        });
-
-        ctx.addInitScript("""
-                () => {
-                  const tryClick = () => {
-                    const patterns = [
-                      /Jag\\s*f(ö|o)rst(å|a)r/i,
-                      /Godk(ä|a)nn\\s+alla\\s+cookies/i,
-                      /Endast\\s+n(ö|o)dv(ä|a)ndiga/i,
-                      /Tillåt\\s+alla/i,
-                      /Avvisa/i
-                    ];
-                    try {
-                      const btn = [...document.querySelectorAll('button')]
-                        .find(b => patterns.some(rx => rx.test(b.textContent)));
-                      if (btn) btn.click();
-                    } catch (_) {}
-                  };
-                  tryClick();
-                  setTimeout(tryClick, 400);
-                  setTimeout(tryClick, 4000);
-                }
-                """);
-
-        log.info("ReducedSystem Trio: headless browser launched");
-    }
-
     private void dismissCookiesIfPresent(Page page) {
         try {
             Locator cookie = page.locator(SEL_COOKIE_BUTTONS);
@@ -371,13 +329,6 @@ public class ReducedTrioScraping {
         }
     }
 
-    @PreDestroy
-    void closeBrowser() {
-        if (ctx != null) ctx.close();
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
-
     private static String normalizeCellText(String s) {
         if (s == null) return "";
         return s.replace('\u00A0', ' ').replaceAll("\\s+", " ").trim();
@@ -0,0 +1,109 @@
+package com.example.travscraper.service;
+
+import com.example.travscraper.entity.Tid99Warning;
+import com.example.travscraper.repo.Tid99WarningRepo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the same synthetic {@code tid_99_warning} rows twice and logs rows per second for each way:
+ * once row by row with the database handing out each id (what IDENTITY columns forced Hibernate to do),
+ * and once through {@code saveAll} with pooled sequence ids, where Hibernate batches the inserts.
+ * Both runs are rolled back, so nothing is kept apart from the sequence values they used.
+ */
+@Slf4j
+@Component
+public class WriteBenchmark {
+
+    private static final String BENCH_BANKOD = "BENCH";
+    private static final String INSERT_RETURNING_ID = """
+            INSERT INTO tid_99_warning (datum, bankod, lopp, nr, namn, placering, tid)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Tid99WarningRepo tid99WarningRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate tx;
+
+    public WriteBenchmark(JdbcTemplate jdbcTemplate, Tid99WarningRepo tid99WarningRepo, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tid99WarningRepo = tid99WarningRepo;
+        this.entityManager = entityManager;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public void run(int rows) {
+        if (rows <= 0) {
+            log.warn("🧪 Write benchmark: scraper.write-benchmark-rows must be positive, got {}", rows);
+            return;
+        }
+
+        // One untimed round each so connection setup and statement preparation are not measured.
+        rowByRow(Math.min(rows, 50));
+        batched(Math.min(rows, 50));
+
+        long rowByRowNanos = rowByRow(rows);
+        long batchedNanos = batched(rows);
+
+        log.info("🧪 Write benchmark ({} rows): row by row with database ids {} rows/s ({} ms), "
+                        + "batched with pooled sequence ids {} rows/s ({} ms)",
+                rows, rate(rows, rowByRowNanos), rowByRowNanos / 1_000_000,
+                rate(rows, batchedNanos), batchedNanos / 1_000_000);
+    }
+
+    private long rowByRow(int rows) {
+        Long nanos = tx.execute(status -> {
+            status.setRollbackOnly();
+            long start = System.nanoTime();
+            for (Tid99Warning w : syntheticRows(rows)) {
+                jdbcTemplate.queryForObject(INSERT_RETURNING_ID, Long.class,
+                        w.getDatum(), w.getBankod(), w.getLopp(), w.getNr(), w.getNamn(), w.getPlacering(), w.getTid());
+            }
+            return System.nanoTime() - start;
+        });
+        return nanos != null ? nanos : 0L;
+    }
+
+    private long batched(int rows) {
+        Long nanos = tx.execute(status -> {
+            status.setRollbackOnly();
+            long start = System.nanoTime();
+            tid99WarningRepo.saveAll(syntheticRows(rows));
+            entityManager.flush();
+            long elapsed = System.nanoTime() - start;
+            entityManager.clear();
+            return elapsed;
+        });
+        return nanos != null ? nanos : 0L;
+    }
+
+    private static List<Tid99Warning> syntheticRows(int rows) {
+        List<Tid99Warning> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            list.add(Tid99Warning.builder()
+                    .datum(0)
+                    .bankod(BENCH_BANKOD)
+                    .lopp(i / 20)
+                    .nr(i % 20)
+                    .namn("bench-" + i)
+                    .placering(1)
+                    .tid(99.0)
+                    .build());
+        }
+        return list;
+    }
+
+    private static long rate(int rows, long nanos) {
+        return nanos > 0 ? Math.round(rows * 1_000_000_000.0 / nanos) : 0;
+    }
+}
@@ -0,0 +1,85 @@
+-- The schema as ddl-auto=update used to create it from the entities. On an existing database every table is
+-- already there and nothing happens; on an empty one the later migrations find the tables they change.
+-- startlista is filled by another system and is not created here.
+CREATE TABLE IF NOT EXISTS resultat (
+    id         bigint PRIMARY KEY,
+    datum      integer      NOT NULL,
+    bankod     varchar(20)  NOT NULL,
+    lopp       integer      NOT NULL,
+    nr         integer      NOT NULL,
+    namn       varchar(50)  NOT NULL,
+    distans    integer,
+    spar       integer,
+    placering  integer,
+    tid        double precision,
+    startmetod varchar(1)   NOT NULL,
+    galopp     varchar(1)   NOT NULL,
+    underlag   varchar(3)   NOT NULL,
+    pris       integer      NOT NULL,
+    odds       integer      NOT NULL,
+    kusk       varchar(80)  NOT NULL,
+    CONSTRAINT resultat_natural_key UNIQUE (datum, bankod, lopp, namn)
+);
+
+CREATE TABLE IF NOT EXISTS future_horse (
+    id              bigint PRIMARY KEY,
+    date            date,
+    lap             varchar(255),
+    name_of_horse   varchar(255),
+    number_of_horse varchar(255),
+    v_odds          varchar(255),
+    track           varchar(255),
+    CONSTRAINT future_horse_natural_key UNIQUE (date, track, lap, number_of_horse)
+);
+
+CREATE TABLE IF NOT EXISTS scraped_horse (
+    date            date         NOT NULL,
+    track           varchar(255) NOT NULL,
+    lap             varchar(255) NOT NULL,
+    number_of_horse varchar(255) NOT NULL,
+    name_of_horse   varchar(255),
+    placement       varchar(255),
+    v_odds          varchar(255),
+    p_odds          varchar(255),
+    trio_odds       varchar(255),
+    tvilling_odds   varchar(255),
+    PRIMARY KEY (date, track, lap, number_of_horse)
+);
+
+CREATE TABLE IF NOT EXISTS double_gangers (
+    id         bigint PRIMARY KEY,
+    date       integer     NOT NULL,
+    track1     varchar(20) NOT NULL,
+    track2     varchar(20) NOT NULL,
+    horse_name varchar(50) NOT NULL,
+    CONSTRAINT double_gangers_natural_key UNIQUE (date, track1, track2, horse_name)
+);
+
+CREATE TABLE IF NOT EXISTS kontroll (
+    id      bigint PRIMARY KEY,
+    datum   integer NOT NULL,
+    namn    varchar(255),
+    starter integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tid_99_warning (
+    id        bigint PRIMARY KEY,
+    datum     integer     NOT NULL,
+    bankod    varchar(20) NOT NULL,
+    lopp      integer     NOT NULL,
+    nr        integer     NOT NULL,
+    namn      varchar(50) NOT NULL,
+    placering integer,
+    tid       double precision,
+    CONSTRAINT tid_99_warning_natural_key UNIQUE (datum, bankod, lopp, nr, namn)
+);
+
+CREATE TABLE IF NOT EXISTS reducedsystem (
+    id          bigint PRIMARY KEY,
+    streck      numeric(6, 2),
+    nr          integer,
+    lopp        integer,
+    bankod      varchar(20) NOT NULL,
+    start_datum varchar(255),
+    streck_typ  varchar(255)
+);
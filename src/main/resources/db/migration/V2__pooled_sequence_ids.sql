@@ -0,0 +1,43 @@
+-- Moves the id columns of the batched entities from one-at-a-time IDENTITY values to a sequence that hands
+-- out blocks of 50 (allocationSize in the entities), so Hibernate can batch inserts. Works on serial,
+-- identity and plain bigint id columns, and on a database where an earlier start already did it.
+DO $$
+DECLARE
+    t        text;
+    expected text;
+    seq      text;
+    identity boolean;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['resultat', 'future_horse', 'double_gangers', 'kontroll', 'tid_99_warning', 'reducedsystem'] LOOP
+        expected := t || '_id_seq';
+
+        IF to_regclass(t) IS NULL THEN
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', expected);
+            CONTINUE;
+        END IF;
+
+        SELECT c.is_identity = 'YES' INTO identity
+        FROM information_schema.columns c
+        WHERE c.table_schema = current_schema() AND c.table_name = t AND c.column_name = 'id';
+
+        seq := pg_get_serial_sequence(t, 'id');
+        IF seq IS NOT NULL AND seq <> quote_ident(current_schema()) || '.' || quote_ident(expected)
+                AND to_regclass(expected) IS NULL THEN
+            EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', seq, expected);
+        END IF;
+
+        IF identity THEN
+            -- Explicit ids from Hibernate and nextval() from native inserts must both be accepted.
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET GENERATED BY DEFAULT', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', expected);
+            EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', expected);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, expected);
+        END IF;
+
+        EXECUTE format('SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(id), 0) FROM %I), (SELECT last_value FROM %I), 1))',
+                       expected, t, expected);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,26 @@
+-- Stamps every insert and update of a resultat row with updated_at, whichever writer made it (JPA, the batched
+-- upserts or a manual fix), so derived tables can be refreshed for the dates that changed. refresh_watermark
+-- holds how far each incremental refresh has read. The stamp is the time the row is written (clock_timestamp),
+-- not the start of its transaction (now()), so a long transaction does not stamp rows far behind the moment they
+-- become visible. Commits can still lag their stamps a little; DoubleGangerService keeps a margin for that.
+ALTER TABLE resultat ADD COLUMN IF NOT EXISTS updated_at timestamp with time zone DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS resultat_updated_at_idx ON resultat (updated_at);
+
+CREATE OR REPLACE FUNCTION resultat_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS resultat_touch_updated_at ON resultat;
+
+CREATE TRIGGER resultat_touch_updated_at BEFORE INSERT OR UPDATE ON resultat
+    FOR EACH ROW EXECUTE FUNCTION resultat_touch_updated_at();
+
+CREATE TABLE IF NOT EXISTS refresh_watermark (
+    name            varchar(50) PRIMARY KEY,
+    last_datum      integer NOT NULL,
+    last_updated_at timestamp with time zone
+);
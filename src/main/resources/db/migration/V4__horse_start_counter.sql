@@ -0,0 +1,22 @@
+-- Creates horse_start_counter and fills it from resultat, before any writer starts counting new rows into it.
+-- After that ResultHorseWriter keeps it current. A database that already has the table keeps its counts.
+DO $$
+BEGIN
+    IF to_regclass('horse_start_counter') IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE horse_start_counter (
+        namn       varchar(50) PRIMARY KEY,
+        starts     integer NOT NULL,
+        last_datum integer NOT NULL
+    );
+    CREATE INDEX horse_start_counter_starts_idx ON horse_start_counter (starts);
+
+    INSERT INTO horse_start_counter (namn, starts, last_datum)
+    SELECT namn, count(*), coalesce(max(datum), 0)
+    FROM resultat
+    WHERE namn IS NOT NULL
+    GROUP BY namn;
+END
+$$;
@@ -0,0 +1,17 @@
+-- Indexes for the repository queries that the natural keys do not serve.
+
+-- Double gangers: resultat joined with itself on (datum, namn), full rebuild and per-date refresh.
+CREATE INDEX IF NOT EXISTS resultat_datum_namn_idx ON resultat (datum, namn, bankod);
+
+-- Tid 99 rebuild: only the few placed rows with tid 99 are indexed.
+CREATE INDEX IF NOT EXISTS resultat_tid_99_idx ON resultat (datum, bankod, lopp)
+    WHERE placering IS NOT NULL AND placering NOT IN (15, 99) AND tid = 99.0;
+
+-- Track codes of a start date (StartListHorseRepo). startlista belongs to another system; index it when present.
+DO $$
+BEGIN
+    IF to_regclass('startlista') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS startlista_startdatum_bankod_idx ON startlista (startdatum, bankod);
+    END IF;
+END
+$$;
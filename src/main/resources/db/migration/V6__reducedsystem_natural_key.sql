@@ -0,0 +1,20 @@
+-- One row per (start_datum, bankod, streck_typ, lopp, nr). Duplicates left by earlier runs are removed first,
+-- keeping the newest row. The key also serves findByStartDatumAndBanKodAndStreckTypAndLopp.
+DELETE FROM reducedsystem
+WHERE id IN (
+    SELECT id
+    FROM (
+        SELECT id, row_number() OVER (PARTITION BY start_datum, bankod, streck_typ, lopp, nr ORDER BY id DESC) AS rn
+        FROM reducedsystem
+    ) ranked
+    WHERE rn > 1
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reducedsystem_natural_key') THEN
+        ALTER TABLE reducedsystem
+            ADD CONSTRAINT reducedsystem_natural_key UNIQUE (start_datum, bankod, streck_typ, lopp, nr);
+    END IF;
+END
+$$;
@@ -0,0 +1,97 @@
+-- resultat becomes a table partitioned by datum (yyyymmdd), one partition per year (resultat_y2024 holds
+-- 20240000 up to 20250000) plus resultat_default for anything no year partition covers. Lookups and upserts
+-- on the natural key carry datum and touch one partition; a year can be vacuumed, detached or archived alone.
+-- New years are created by resultat_ensure_year (called by ResultPartitions before a write).
+
+CREATE OR REPLACE FUNCTION resultat_ensure_year(y integer) RETURNS void AS $$
+DECLARE
+    part text    := 'resultat_y' || y;
+    lo   integer := y * 10000;
+    hi   integer := (y + 1) * 10000;
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    -- Two writers may need the same year at once.
+    PERFORM pg_advisory_xact_lock(hashtext('resultat_partitions'));
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    -- Rows of that year that already landed in the default partition move along, otherwise ATTACH refuses.
+    EXECUTE format('CREATE TABLE %I (LIKE resultat INCLUDING DEFAULTS)', part);
+    IF to_regclass('resultat_default') IS NOT NULL THEN
+        EXECUTE format('WITH moved AS (DELETE FROM resultat_default WHERE datum >= %s AND datum < %s RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', lo, hi, part);
+    END IF;
+    EXECUTE format('ALTER TABLE resultat ATTACH PARTITION %I FOR VALUES FROM (%s) TO (%s)', part, lo, hi);
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    saved_id bigint;
+    y        integer;
+BEGIN
+    IF (SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass('resultat')) = 'p' THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE resultat_partitioned (
+        id         bigint       NOT NULL,
+        datum      integer      NOT NULL,
+        bankod     varchar(20)  NOT NULL,
+        lopp       integer      NOT NULL,
+        nr         integer      NOT NULL,
+        namn       varchar(50)  NOT NULL,
+        distans    integer,
+        spar       integer,
+        placering  integer,
+        tid        double precision,
+        startmetod varchar(1)   NOT NULL,
+        galopp     varchar(1)   NOT NULL,
+        underlag   varchar(3)   NOT NULL,
+        pris       integer      NOT NULL,
+        odds       integer      NOT NULL,
+        kusk       varchar(80)  NOT NULL,
+        updated_at timestamp with time zone DEFAULT now()
+    ) PARTITION BY RANGE (datum);
+
+    CREATE TABLE resultat_default PARTITION OF resultat_partitioned DEFAULT;
+
+    FOR y IN SELECT DISTINCT datum / 10000 FROM resultat WHERE datum >= 19000000
+             UNION SELECT extract(year FROM current_date)::integer
+             UNION SELECT extract(year FROM current_date)::integer + 1 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF resultat_partitioned FOR VALUES FROM (%s) TO (%s)',
+                       'resultat_y' || y, y * 10000, (y + 1) * 10000);
+    END LOOP;
+
+    INSERT INTO resultat_partitioned (id, datum, bankod, lopp, nr, namn, distans, spar, placering, tid,
+                                      startmetod, galopp, underlag, pris, odds, kusk, updated_at)
+    SELECT id, datum, bankod, lopp, nr, namn, distans, spar, placering, tid,
+           startmetod, galopp, underlag, pris, odds, kusk, updated_at
+    FROM resultat;
+
+    -- The id sequence may belong to the old column (serial or identity) and go with it; keep its position.
+    SELECT last_value INTO saved_id FROM resultat_id_seq;
+    DROP TABLE resultat;
+    ALTER TABLE resultat_partitioned RENAME TO resultat;
+
+    CREATE SEQUENCE IF NOT EXISTS resultat_id_seq START WITH 1 INCREMENT BY 50;
+    ALTER SEQUENCE resultat_id_seq INCREMENT BY 50 OWNED BY resultat.id;
+    PERFORM setval('resultat_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM resultat), saved_id, 1));
+    ALTER TABLE resultat ALTER COLUMN id SET DEFAULT nextval('resultat_id_seq');
+
+    -- A unique key on a partitioned table has to contain datum.
+    ALTER TABLE resultat ADD CONSTRAINT resultat_pkey PRIMARY KEY (id, datum);
+    ALTER TABLE resultat ADD CONSTRAINT resultat_natural_key UNIQUE (datum, bankod, lopp, namn);
+    CREATE INDEX resultat_updated_at_idx ON resultat (updated_at);
+    CREATE INDEX resultat_datum_namn_idx ON resultat (datum, namn, bankod);
+    CREATE INDEX resultat_tid_99_idx ON resultat (datum, bankod, lopp)
+        WHERE placering IS NOT NULL AND placering NOT IN (15, 99) AND tid = 99.0;
+
+    CREATE TRIGGER resultat_touch_updated_at BEFORE INSERT OR UPDATE ON resultat
+        FOR EACH ROW EXECUTE FUNCTION resultat_touch_updated_at();
+END
+$$;
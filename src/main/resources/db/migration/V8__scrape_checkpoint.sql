@@ -0,0 +1,14 @@
+-- Progress of the scrapers: one row per finished unit of work, keyed by job ('results', 'future', 'popups',
+-- 'reduced'), date, track (bankod or track slug), lap (lopp or avd) and product (what was read, e.g. 'resultat'
+-- or the game type). content_hash is a checksum of the rows written for it. A run with scraper.resume skips
+-- the units it finds here; a row is only written in the transaction that wrote its rows.
+CREATE TABLE IF NOT EXISTS scrape_checkpoint (
+    job          varchar(30)              NOT NULL,
+    date         date                     NOT NULL,
+    track        varchar(40)              NOT NULL,
+    lap          integer                  NOT NULL,
+    product      varchar(40)              NOT NULL,
+    content_hash bigint                   NOT NULL,
+    completed_at timestamp with time zone NOT NULL DEFAULT now(),
+    PRIMARY KEY (job, date, track, lap, product)
+);
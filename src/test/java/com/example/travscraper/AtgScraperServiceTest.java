@@ -0,0 +1,138 @@
+package com.example.travscraper;
+
+import com.example.travscraper.atg.AtgApiClient;
+import com.example.travscraper.atg.AtgGameJson;
+import com.example.travscraper.atg.AtgStart;
+import com.example.travscraper.browser.BrowserPool;
+import com.example.travscraper.browser.HostThrottle;
+import com.example.travscraper.browser.PreviousStartsExtractor;
+import com.example.travscraper.browser.StartlistExtractor;
+import com.example.travscraper.browser.WarmTabs;
+import com.example.travscraper.repo.FutureHorseWriter;
+import com.example.travscraper.repo.ResultHorseWriter;
+import com.example.travscraper.repo.ResultKeyCache;
+import com.example.travscraper.repo.ResultPartitions;
+import com.example.travscraper.repo.ScrapeCheckpoints;
+import com.example.travscraper.repo.ScrapedHorseWriter;
+import com.example.travscraper.repo.StartListHorseRepo;
+import com.example.travscraper.repo.WriteBehind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statements a scraped lap costs on the wire: {@code persistResults} is driven through WriteBehind, the
+ * writers and a real JdbcTemplate and transaction manager, over a DataSource that records every statement
+ * executed (a JDBC batch counts once).
+ */
+class AtgScraperServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> prepared = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private AtgScraperService service;
+    private WriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(countingDataSource());
+        ScraperProperties props = new ScraperProperties();
+        props.setWriteBehind(false);
+
+        ScrapeCheckpoints checkpoints = new ScrapeCheckpoints(jdbcTemplate, props);
+        writeBehind = new WriteBehind(new ScrapedHorseWriter(jdbcTemplate), mock(ResultHorseWriter.class),
+                mock(FutureHorseWriter.class), mock(ResultKeyCache.class), mock(ResultPartitions.class),
+                checkpoints, new DataSourceTransactionManager(jdbcTemplate.getDataSource()), props);
+        service = new AtgScraperService(props, mock(StartListHorseRepo.class), mock(ResultKeyCache.class),
+                mock(BrowserPool.class), mock(HostThrottle.class), mock(WarmTabs.class), mock(AtgGameJson.class),
+                mock(AtgApiClient.class), writeBehind, checkpoints, mock(StartlistExtractor.class),
+                mock(PreviousStartsExtractor.class));
+    }
+
+    @Test
+    void aLapIsOneUpsertStatementAndItsCheckpoint() {
+        for (int lap = 1; lap <= 3; lap++) {
+            int queued = service.persistResults(starts(12), DATE, "solvalla", lap, Map.of(), Map.of(), Map.of());
+            assertThat(queued).isEqualTo(12);
+        }
+        writeBehind.flush();
+
+        assertThat(executed.stream().filter(sql -> sql.contains("INTO scraped_horse"))).hasSize(3);
+        assertThat(executed.stream().filter(sql -> sql.contains("INTO scrape_checkpoint"))).hasSize(3);
+        assertThat(executed).hasSize(6);
+        assertThat(batchSizes).containsExactly(12, 12, 12);
+        assertThat(prepared).noneMatch(sql -> sql.stripLeading().toUpperCase().startsWith("SELECT"));
+    }
+
+    @Test
+    void anUnknownTrackSendsNothing() {
+        assertThat(service.persistResults(starts(12), DATE, "okänd bana", 1, Map.of(), Map.of(), Map.of())).isZero();
+        assertThat(prepared).isEmpty();
+    }
+
+    private DataSource countingDataSource() throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.supportsBatchUpdates()).thenReturn(true);
+        when(metaData.supportsSavepoints()).thenReturn(true);
+
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.setSavepoint(anyString())).thenAnswer(inv -> mock(Savepoint.class));
+        when(connection.prepareStatement(anyString())).thenAnswer(inv -> statement(connection, inv.getArgument(0)));
+
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private PreparedStatement statement(Connection connection, String sql) throws Exception {
+        prepared.add(sql);
+        int[] batched = {0};
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(ps.getConnection()).thenReturn(connection);
+        doAnswer(inv -> batched[0]++).when(ps).addBatch();
+        when(ps.executeBatch()).thenAnswer(inv -> {
+            executed.add(sql);
+            batchSizes.add(batched[0]);
+            int[] counts = new int[batched[0]];
+            Arrays.fill(counts, 1);
+            batched[0] = 0;
+            return counts;
+        });
+        when(ps.executeUpdate()).thenAnswer(inv -> {
+            executed.add(sql);
+            return 1;
+        });
+        return ps;
+    }
+
+    private static List<AtgStart> starts(int horses) {
+        List<AtgStart> starts = new ArrayList<>();
+        for (int nr = 1; nr <= horses; nr++) {
+            starts.add(new AtgStart(String.valueOf(nr), "Horse " + nr, "", String.valueOf(nr), "2,50", null, null, false));
+        }
+        return starts;
+    }
+}
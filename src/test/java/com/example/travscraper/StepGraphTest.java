@@ -0,0 +1,87 @@
+package com.example.travscraper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StepGraphTest {
+
+    private final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void independentStepsOverlapAndDependentsWait() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        StepGraph.Step waitForOther = () -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).as("the other step runs at the same time").isTrue();
+        };
+
+        new StepGraph("test", 2)
+                .step("a", () -> {
+                    waitForOther.run();
+                    ran.add("a");
+                })
+                .step("b", () -> {
+                    waitForOther.run();
+                    ran.add("b");
+                })
+                .step("derived", () -> ran.add("derived"), "a", "b")
+                .run();
+
+        assertThat(ran).hasSize(3).endsWith("derived");
+    }
+
+    @Test
+    void failedStepSkipsItsDependentsOnly() {
+        StepGraph graph = new StepGraph("test", 1)
+                .step("results", () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .step("future", () -> ran.add("future"))
+                .step("derived", () -> ran.add("derived"), "results")
+                .step("after derived", () -> ran.add("after derived"), "derived");
+
+        assertThatThrownBy(graph::run)
+                .hasMessage("Scraper step failed: results")
+                .hasRootCauseMessage("boom");
+        assertThat(ran).containsExactly("future");
+    }
+
+    @Test
+    void onlyConfiguredStepsRun() {
+        new StepGraph("test", 1)
+                .only(List.of("Results", " derived "))
+                .step("future", () -> ran.add("future"))
+                .step("results", () -> ran.add("results"))
+                .step("derived", () -> ran.add("derived"), "future", "results")
+                .run();
+
+        assertThat(ran).containsExactly("results", "derived");
+        assertThatThrownBy(() -> new StepGraph("test", 1).only(List.of("typo")).step("results", () -> { }).run())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void noConfiguredStepsRunsNothing() {
+        new StepGraph("test", 1)
+                .only(List.of())
+                .step("results", () -> ran.add("results"))
+                .step("derived", () -> ran.add("derived"), "results")
+                .run();
+
+        assertThat(ran).isEmpty();
+    }
+
+    @Test
+    void dependenciesMustBeDeclaredFirst() {
+        assertThatThrownBy(() -> new StepGraph("test", 1).step("derived", () -> { }, "results"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.travscraper.repo;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression for every custom repository query: after the migrations, with sequential scans priced out,
+ * each query must use the index that was added for it. Partition indexes of resultat get generated names, so those
+ * are matched by their column part; future_horse's key has a database-dependent name, so there a keyed index lookup
+ * is required.
+ * Derived and JPQL queries are written out as the SQL Hibernate sends; native ones are read from their
+ * {@link Query} annotation. Runs against the database in TEST_DATABASE_URL (never the app's DATABASE_URL, as the
+ * migrations are applied to it), inside a transaction that is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class QueryPlanTest {
+
+    private static final Map<String, String> PARAMS = Map.of(
+            ":dates", "20240101, 20240102",
+            ":minStarts", "8"
+    );
+
+    // Column part of the generated partition index names (see resultatIndex).
+    private static final String NATURAL_KEY = "datum_bankod_lopp_namn_key";
+    private static final String DATUM_NAMN = "datum_namn_bankod_idx";
+    private static final String UPDATED_AT = "updated_at_idx";
+    private static final String TID_99 = "datum_bankod_lopp_idx";
+
+    private static DriverManagerDataSource dataSource;
+    private Connection conn;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(System.getenv("TEST_DATABASE_URL"),
+                System.getenv("TEST_DATABASE_USERNAME"), System.getenv("TEST_DATABASE_PASSWORD"));
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("0").load().migrate();
+    }
+
+    @BeforeEach
+    void open() throws SQLException {
+        conn = dataSource.getConnection();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET LOCAL enable_seqscan = off");
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.rollback();
+        conn.close();
+    }
+
+    @Test
+    void resultHorseFinders() throws SQLException {
+        assertUsesMatching("select * from resultat where datum = 20240101 and bankod = 'S' and lopp = 1 and namn = 'X'",
+                resultatIndex(NATURAL_KEY));
+        assertUsesMatching("select * from resultat where datum = 20240101 and bankod = 'S' and lopp = 1",
+                resultatIndex(NATURAL_KEY));
+        assertUsesMatching("select max(datum) from resultat", resultatIndex(NATURAL_KEY + "|" + DATUM_NAMN));
+        assertUsesMatching("select max(updated_at) from resultat", resultatIndex(UPDATED_AT));
+        String changed = "select distinct datum from resultat where datum > 20240101 or updated_at > now() - interval '1 day'";
+        assertUsesMatching(changed, resultatIndex(NATURAL_KEY + "|" + DATUM_NAMN));
+        assertUsesMatching(changed, resultatIndex(UPDATED_AT));
+    }
+
+    @Test
+    void futureAndScrapedHorseFinders() throws SQLException {
+        // The unique keys were named by Hibernate on older databases, so only a keyed index lookup is required.
+        assertIndexLookup("select * from future_horse where date = date '2024-01-01' and track = 'solvalla' and lap = '1'"
+                + " and number_of_horse = '1'", "future_horse");
+        assertIndexLookup("select * from future_horse where date = date '2024-01-01' and track = 'solvalla' and lap = '1'",
+                "future_horse");
+        assertUses("select * from scraped_horse where date = date '2024-01-01' and track = 'solvalla' and lap = '1'"
+                + " and number_of_horse = '1'", "scraped_horse_pkey");
+        assertUses("select * from scraped_horse where date = date '2024-01-01' and track = 'solvalla' and lap = '1'",
+                "scraped_horse_pkey");
+    }
+
+    @Test
+    void reducedSystemFinder() throws SQLException {
+        assertUses("select * from reducedsystem where start_datum = '2024-01-01' and bankod = 'S'"
+                + " and streck_typ = 'V75' and lopp = 1", "reducedsystem_natural_key");
+    }
+
+    @Test
+    void startListTrackCodes() throws SQLException {
+        Assumptions.assumeTrue(exists("startlista"), "startlista is not in this database");
+        assertUses("select distinct bankod from startlista where startdatum = 20240101",
+                "startlista_startdatum_bankod_idx");
+        assertUses("select distinct bankod from startlista where startdatum between 20240101 and 20240107",
+                "startlista_startdatum_bankod_idx");
+    }
+
+    @Test
+    void doubleGangerRebuilds() throws Exception {
+        assertUsesMatching(nativeSql(DoubleGangerRepo.class, "insertFromResults"), resultatIndex(DATUM_NAMN));
+        assertUsesMatching(nativeSql(DoubleGangerRepo.class, "deleteStaleForDates", Collection.class),
+                resultatIndex(DATUM_NAMN));
+        assertUsesMatching(nativeSql(DoubleGangerRepo.class, "insertMissingForDates", Collection.class),
+                resultatIndex(DATUM_NAMN));
+    }
+
+    @Test
+    void warningRebuilds() throws Exception {
+        assertUses(nativeSql(HorseWarningRepo.class, "insertFromStartCounters", int.class),
+                "horse_start_counter_starts_idx");
+        assertUsesMatching(nativeSql(Tid99WarningRepo.class, "insertFromResults"), resultatIndex(TID_99));
+    }
+
+    @Test
+    void resultKeyCacheLoads() throws SQLException {
+        assertUsesMatching(ResultKeyCache.SELECT_RANGE.replaceFirst("\\?", "20240101").replaceFirst("\\?", "20240107"),
+                resultatIndex(NATURAL_KEY + "|" + DATUM_NAMN));
+        assertUsesMatching(ResultKeyCache.SELECT_MEETING.replaceFirst("\\?", "20240101").replaceFirst("\\?", "'S'"),
+                resultatIndex(NATURAL_KEY));
+    }
+
+    @Test
+    void checkpointLookup() throws SQLException {
+        assertUses(ScrapeCheckpoints.SELECT_LAPS.replaceFirst("\\?", "'results'").replaceFirst("\\?", "date '2024-01-01'")
+                .replaceFirst("\\?", "'S'").replaceFirst("\\?", "'resultat'").replaceFirst("\\?", "now()"),
+                "scrape_checkpoint_pkey");
+    }
+
+    @Test
+    void naturalKeyLookupTouchesOnePartition() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("select resultat_ensure_year(2024)");
+        }
+        String plan = plan("select * from resultat where datum = 20240101 and bankod = 'S' and lopp = 1 and namn = 'X'");
+        assertThat(plan).contains("resultat_y2024").doesNotContain("resultat_default").doesNotContain("resultat_y2023");
+    }
+
+    /**
+     * Partitions name their copy of a resultat index after themselves and its columns, e.g.
+     * {@code resultat_y2024_datum_namn_bankod_idx}; this matches that copy on any partition.
+     */
+    private static String resultatIndex(String columnsAndSuffix) {
+        return "resultat_\\w+?_(?:" + columnsAndSuffix + ")\\b";
+    }
+
+    private void assertUses(String sql, String index) throws SQLException {
+        assertThat(plan(sql)).as(sql).contains(index);
+    }
+
+    private void assertUsesMatching(String sql, String indexPattern) throws SQLException {
+        assertThat(plan(sql)).as(sql).containsPattern(indexPattern);
+    }
+
+    /**
+     * An index scan with an Index Cond on the table: a full scan of some index, which is all that is left with
+     * sequential scans priced out, does not pass.
+     */
+    private void assertIndexLookup(String sql, String table) throws SQLException {
+        assertThat(plan(sql)).as(sql)
+                .containsPattern("(?:Index Scan|Index Only Scan|Bitmap Index Scan) (?:Backward )?(?:using|on) \\S+ on " + table
+                        + "\\b|Bitmap Heap Scan on " + table + "\\b")
+                .contains("Index Cond")
+                .doesNotContain("Seq Scan on " + table);
+    }
+
+    private String plan(String sql) throws SQLException {
+        StringJoiner plan = new StringJoiner("\n");
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) plan.add(rs.getString(1));
+        }
+        return plan.toString();
+    }
+
+    private boolean exists(String table) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("select to_regclass('" + table + "') is not null")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static String nativeSql(Class<?> repo, String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Query query = repo.getMethod(method, parameterTypes).getAnnotation(Query.class);
+        assertThat(query.nativeQuery()).as(repo.getSimpleName() + "." + method + " is native").isTrue();
+        String sql = query.value();
+        for (Map.Entry<String, String> param : PARAMS.entrySet()) {
+            sql = sql.replace(param.getKey(), param.getValue());
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.entity.ResultHorse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ResultKeyCacheTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ResultHorseRepo resultRepo = mock(ResultHorseRepo.class);
+    private ResultKeyCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResultSet stored = mock(ResultSet.class);
+        when(stored.getInt("datum")).thenReturn(20240101);
+        when(stored.getString("bankod")).thenReturn("S");
+        when(stored.getInt("lopp")).thenReturn(3);
+        when(stored.getString("namn")).thenReturn("HORSE");
+        when(stored.getInt("distans")).thenReturn(2140);
+        when(stored.getInt("spar")).thenReturn(4);
+        when(stored.getInt("placering")).thenReturn(2);
+        when(stored.getDouble("tid")).thenReturn(14.5);
+        when(stored.getString("startmetod")).thenReturn("A");
+        when(stored.getString("galopp")).thenReturn("");
+        when(stored.getString("underlag")).thenReturn("n");
+        when(stored.getInt("pris")).thenReturn(10000);
+        when(stored.getInt("odds")).thenReturn(250);
+        when(stored.getString("kusk")).thenReturn("Kusk K");
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(stored);
+            return null;
+        }).when(jdbcTemplate).query(eq(ResultKeyCache.SELECT_MEETING), any(RowCallbackHandler.class), eq(20240101), eq("S"));
+
+        cache = new ResultKeyCache(jdbcTemplate, resultRepo, new ScraperProperties());
+    }
+
+    @Test
+    void meetingIsReadOnceAndAnswersEveryKeyInIt() {
+        assertThat(cache.find(20240101, "S", 3, "HORSE")).get()
+                .satisfies(rh -> {
+                    assertThat(rh.getOdds()).isEqualTo(250);
+                    assertThat(rh.getKusk()).isEqualTo("Kusk K");
+                    assertThat(rh.getTid()).isEqualTo(14.5);
+                });
+        assertThat(cache.find(20240101, "S", 3, "HORSE")).isPresent();
+        assertThat(cache.find(20240101, "S", 4, "OTHER")).isEmpty();
+
+        verify(jdbcTemplate, times(1))
+                .query(eq(ResultKeyCache.SELECT_MEETING), any(RowCallbackHandler.class), eq(20240101), eq("S"));
+        verifyNoInteractions(resultRepo);
+    }
+
+    @Test
+    void previousStartFollowsTheUpsertMergeRules() {
+        assertThat(cache.changesPreviousStart(previousStart(10000, 999, null, ""))).isFalse();
+        assertThat(cache.changesPreviousStart(previousStart(10000, 250, 4, "Kusk K"))).isFalse();
+        assertThat(cache.changesPreviousStart(previousStart(12000, 999, null, ""))).isTrue();
+        assertThat(cache.changesPreviousStart(previousStart(10000, 310, null, ""))).isTrue();
+        assertThat(cache.changesPreviousStart(previousStart(10000, 999, 5, ""))).isTrue();
+        assertThat(cache.changesPreviousStart(ResultHorse.builder()
+                .datum(20240101).bankod("S").lopp(3).namn("NEW").pris(0).build())).isTrue();
+    }
+
+    @Test
+    void recordedWritesAreSeenBeforeTheyReachTheDatabase() {
+        ResultHorse newer = previousStart(12000, 310, null, "");
+        cache.record(new PendingWrite.PreviousStarts(List.of(newer)));
+
+        assertThat(cache.changesPreviousStart(previousStart(12000, 310, 4, "Kusk K"))).isFalse();
+        assertThat(cache.find(20240101, "S", 3, "HORSE")).get()
+                .satisfies(rh -> assertThat(rh.getPris()).isEqualTo(12000));
+    }
+
+    @Test
+    void futureFieldsOnlyCreateRowsWhenAllowed() {
+        ResultHorse missing = ResultHorse.builder().datum(20240101).bankod("S").lopp(3).namn("NEW")
+                .odds(500).kusk("Kusk K").build();
+
+        assertThat(cache.changesFutureFields(missing, false)).isFalse();
+        assertThat(cache.changesFutureFields(missing, true)).isTrue();
+
+        cache.record(new PendingWrite.FutureLap(List.of(), List.of(missing), false));
+        assertThat(cache.find(20240101, "S", 3, "NEW")).isEmpty();
+        cache.record(new PendingWrite.FutureLap(List.of(), List.of(missing), true));
+        assertThat(cache.changesFutureFields(missing, true)).isFalse();
+    }
+
+    @Test
+    void forgottenRowsAreReadAgain() {
+        ResultHorse newer = previousStart(12000, 310, null, "");
+        cache.record(new PendingWrite.PreviousStarts(List.of(newer)));
+        cache.forget(new PendingWrite.PreviousStarts(List.of(newer)));
+
+        assertThat(cache.find(20240101, "S", 3, "HORSE")).get()
+                .satisfies(rh -> assertThat(rh.getPris()).isEqualTo(10000));
+        verify(jdbcTemplate, times(2))
+                .query(eq(ResultKeyCache.SELECT_MEETING), any(RowCallbackHandler.class), eq(20240101), eq("S"));
+    }
+
+    @Test
+    void checksDoNotGrowTheDictionaries() {
+        cache.find(20240101, "S", 3, "HORSE");
+        int interned = cache.internedStrings();
+
+        assertThat(cache.find(20240101, "S", 3, "NEVER STORED")).isEmpty();
+        assertThat(cache.changesPreviousStart(ResultHorse.builder()
+                .datum(20240101).bankod("S").lopp(3).namn("ALSO NEW").kusk("New Kusk").pris(0).build())).isTrue();
+        assertThat(cache.changesPreviousStart(previousStart(10000, 999, null, "New Kusk"))).isTrue();
+        assertThat(cache.changesFutureFields(ResultHorse.builder()
+                .datum(20240101).bankod("S").lopp(3).namn("HORSE").kusk("Other Kusk").build(), false)).isTrue();
+        assertThat(cache.internedStrings()).isEqualTo(interned);
+
+        cache.record(new PendingWrite.PreviousStarts(List.of(previousStart(10000, 999, null, "New Kusk"))));
+        assertThat(cache.internedStrings()).isEqualTo(interned + 1);
+        assertThat(cache.changesPreviousStart(previousStart(10000, 999, null, "New Kusk"))).isFalse();
+    }
+
+    @Test
+    void keysThatDoNotPackGoToTheDatabase() {
+        cache.find(0, "S", 3, "HORSE");
+
+        verify(resultRepo).findByDatumAndBankodAndLoppAndNamn(0, "S", 3, "HORSE");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static ResultHorse previousStart(int pris, int odds, Integer spar, String kusk) {
+        return ResultHorse.builder()
+                .datum(20240101).bankod("S").lopp(3).nr(0).namn("HORSE")
+                .spar(spar).pris(pris).odds(odds).kusk(kusk)
+                .build();
+    }
+}
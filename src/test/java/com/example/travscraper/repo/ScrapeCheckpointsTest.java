@@ -0,0 +1,60 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ScrapeCheckpointsTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ScraperProperties props = new ScraperProperties();
+    private final ScrapeCheckpoints checkpoints = new ScrapeCheckpoints(jdbcTemplate, props);
+
+    @Test
+    void nothingIsSkippedWithoutResume() {
+        assertThat(checkpoints.doneLaps("results", DATE, "S", "resultat")).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resumeReadsRecentCheckpointsOnly() throws Exception {
+        props.setResume(true);
+        props.setResumeMaxAgeHours(6);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("lap")).thenReturn(3);
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(eq(ScrapeCheckpoints.SELECT_LAPS), any(RowCallbackHandler.class),
+                eq("results"), eq(DATE), eq("S"), eq("resultat"), argThat(since -> since instanceof OffsetDateTime t
+                        && t.isAfter(OffsetDateTime.now().minusHours(7)) && t.isBefore(OffsetDateTime.now().minusHours(5))));
+
+        assertThat(checkpoints.doneLaps("results", DATE, "S", "resultat")).containsExactly(3);
+    }
+
+    @Test
+    void hashIgnoresRowOrderButNotValues() {
+        long hash = ScrapeCheckpoints.hash(List.of("1:A", "2:B"), row -> Arrays.asList(row.split(":")));
+
+        assertThat(ScrapeCheckpoints.hash(List.of("2:B", "1:A"), row -> Arrays.asList(row.split(":")))).isEqualTo(hash);
+        assertThat(ScrapeCheckpoints.hash(List.of("1:A", "2:C"), row -> Arrays.asList(row.split(":")))).isNotEqualTo(hash);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.entity.ScrapedHorse;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class ScrapedHorseWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ScrapedHorseWriter writer = new ScrapedHorseWriter(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesALapAsOneBatchWithoutReads() {
+        List<ScrapedHorse> lap = new ArrayList<>();
+        for (int nr = 1; nr <= 12; nr++) lap.add(horse(String.valueOf(nr)));
+
+        int written = writer.upsert(lap);
+
+        assertThat(written).isEqualTo(12);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(ScrapedHorseWriter.UPSERT), anyList(), eq(12),
+                any(ParameterizedPreparedStatementSetter.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsTheLastRowPerHorse() {
+        int written = writer.upsert(List.of(horse("1"), horse("2"), horse("1")));
+
+        assertThat(written).isEqualTo(2);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(ScrapedHorseWriter.UPSERT), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void sendsNothingForAnEmptyLap() {
+        assertThat(writer.upsert(List.of())).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static ScrapedHorse horse(String nr) {
+        return ScrapedHorse.builder()
+                .date(LocalDate.of(2024, 1, 1)).track("S").lap("1")
+                .numberOfHorse(nr).nameOfHorse("HORSE " + nr).placement("1").vOdds("2,50")
+                .pOdds("").trioOdds("").tvillingOdds("")
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.travscraper.repo;
+
+import com.example.travscraper.ScraperProperties;
+import com.example.travscraper.entity.ResultHorse;
+import com.example.travscraper.entity.ScrapedHorse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindTest {
+
+    private final ScrapedHorseWriter scrapedHorseWriter = mock(ScrapedHorseWriter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus status = mock(TransactionStatus.class);
+    private final ScrapeCheckpoints checkpoints = mock(ScrapeCheckpoints.class);
+    private final ResultPartitions resultPartitions = mock(ResultPartitions.class);
+    private final List<List<String>> upserts = new ArrayList<>();
+    private final List<String> threads = new ArrayList<>();
+    private WriteBehind writeBehind;
+
+    private WriteBehind writeBehind(boolean enabled) {
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        doAnswer(inv -> {
+            Collection<ScrapedHorse> rows = inv.getArgument(0);
+            synchronized (upserts) {
+                upserts.add(rows.stream().map(ScrapedHorse::getNumberOfHorse).toList());
+                threads.add(Thread.currentThread().getName());
+            }
+            return rows.size();
+        }).when(scrapedHorseWriter).upsert(any());
+
+        ScraperProperties props = new ScraperProperties();
+        props.setWriteBehind(enabled);
+        props.setWriteBehindMaxRows(10);
+        props.setWriteBehindFlushRows(5);
+        props.setWriteBehindFlushMillis(1_000);
+        writeBehind = new WriteBehind(scrapedHorseWriter, mock(ResultHorseWriter.class), mock(FutureHorseWriter.class),
+                mock(ResultKeyCache.class), resultPartitions, checkpoints, transactionManager, props);
+        return writeBehind;
+    }
+
+    @AfterEach
+    void stop() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void batchesUpToFlushRowsShareOneTransaction() {
+        WriteBehind wb = writeBehind(true);
+
+        wb.submit(lap("1", "2"));
+        wb.submit(lap("3"));
+        wb.flush();
+
+        assertThat(upserts).containsExactly(List.of("1", "2"), List.of("3"));
+        assertThat(threads).containsOnly("write-behind");
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(status);
+    }
+
+    @Test
+    void failedLapIsRolledBackToItsSavepoint() {
+        WriteBehind wb = writeBehind(true);
+        doAnswer(inv -> {
+            throw new DataIntegrityViolationException("duplicate key");
+        }).when(scrapedHorseWriter).upsert(argThat(rows -> rows.size() == 1));
+
+        wb.submit(lap("1", "2"));
+        wb.submit(lap("3"));
+        wb.submit(lap("4", "5"));
+        wb.flush();
+
+        assertThat(upserts).containsExactly(List.of("1", "2"), List.of("4", "5"));
+        verify(status, times(3)).createSavepoint();
+        verify(status, times(1)).rollbackToSavepoint(any());
+        verify(status, times(2)).releaseSavepoint(any());
+        verify(transactionManager, times(1)).commit(status);
+    }
+
+    @Test
+    void checkpointIsOnlyWrittenWithItsLap() {
+        WriteBehind wb = writeBehind(true);
+        doAnswer(inv -> {
+            throw new DataIntegrityViolationException("duplicate key");
+        }).when(scrapedHorseWriter).upsert(argThat(rows -> rows.size() == 1));
+        ScrapeCheckpoints.Key written = key(1);
+        ScrapeCheckpoints.Key failed = key(2);
+
+        wb.submit(new PendingWrite.Checkpointed(lap("1", "2"), written, 11));
+        wb.submit(new PendingWrite.Checkpointed(lap("3"), failed, 22));
+        wb.submit(new PendingWrite.Checkpointed(new PendingWrite.ScrapedHorses(List.of()), key(3), 33));
+        wb.flush();
+
+        verify(checkpoints).complete(written, 11);
+        verify(checkpoints, never()).complete(failed, 22);
+        verify(checkpoints).complete(key(3), 33);
+        verify(status, times(1)).rollbackToSavepoint(any());
+    }
+
+    @Test
+    void partitionsAreCreatedBeforeTheTransactionOpens() {
+        WriteBehind wb = writeBehind(false);
+        ResultHorse start = ResultHorse.builder().datum(20310101).bankod("S").lopp(1).namn("HORSE").build();
+
+        wb.submit(new PendingWrite.Checkpointed(new PendingWrite.PreviousStarts(List.of(start)), key(1), 11));
+
+        InOrder order = inOrder(resultPartitions, transactionManager);
+        order.verify(resultPartitions).ensureFor(List.of(20310101));
+        order.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void disabledWritesOnTheCallersThread() {
+        WriteBehind wb = writeBehind(false);
+
+        wb.submit(lap("1"));
+
+        assertThat(upserts).containsExactly(List.of("1"));
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+    }
+
+    private static ScrapeCheckpoints.Key key(int lap) {
+        return new ScrapeCheckpoints.Key("results", LocalDate.of(2024, 1, 1), "S", lap, "resultat");
+    }
+
+    private static PendingWrite lap(String... numbers) {
+        List<ScrapedHorse> horses = new ArrayList<>();
+        for (String nr : numbers) {
+            horses.add(ScrapedHorse.builder()
+                    .date(LocalDate.of(2024, 1, 1)).track("S").lap("1")
+                    .numberOfHorse(nr).nameOfHorse("HORSE " + nr)
+                    .build());
+        }
+        return new PendingWrite.ScrapedHorses(horses);
+    }
+}